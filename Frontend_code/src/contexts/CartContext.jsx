@@ -201,8 +201,10 @@ export function CartProvider({ children }) {
     try {
       const orderPayload = {
         ...orderData,
+        // Designed tees are their own products; everything else is a catalog t-shirt, optionally with a design
         items: cartItems.map(item => ({
-          tshirtId: item.id,
+          tshirtId: item.designedTshirtId ? undefined : (item.tshirtId ?? item.productId ?? item.id),
+          designedTshirtId: item.designedTshirtId,
           quantity: item.quantity || 1,
           size: item.size,
           color: item.color,
@@ -333,13 +333,21 @@ export default function CustomDesign() {
       toast.error("Please select or upload a design.");
       return;
     }
+    if (!selectedTshirt) {
+      toast.error("This brand and color is not available for that gender.");
+      return;
+    }
 
     setLoading(prev => ({...prev, addToCart: true}));
     try {
       const finalImage = await generateFinalImage();
       const cartItem = {
+        id: `custom-${selectedTshirt.id}-${selectedDesign?.id || `upload-${Date.now()}`}`,
+        // Ordered as the base t-shirt with the gallery design, if any; the server charges the t-shirt's price
+        tshirtId: selectedTshirt.id,
+        designId: selectedDesign?.id,
         name: `Custom \"${selectedDesign?.name || 'Uploaded'}\" Tee`,
-        price: 499.00,
+        price: selectedTshirt.price,
         quantity: 1,
         imageUrl: finalImage,
         brand: selectedBrand,
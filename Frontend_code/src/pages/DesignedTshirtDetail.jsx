@@ -67,7 +67,9 @@ export default function DesignedTshirtDetail() {
     }
 
     const cartItem = {
-      id: designedTshirt.id,
+      // Kept apart from catalog t-shirts that share the numeric id
+      id: `designed-${designedTshirt.id}`,
+      designedTshirtId: designedTshirt.id,
       name: designedTshirt.name,
       price: designedTshirt.price,
       image: mainImage,
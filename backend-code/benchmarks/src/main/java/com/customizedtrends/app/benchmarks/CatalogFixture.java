@@ -0,0 +1,131 @@
+package com.customizedtrends.app.benchmarks;
+
+import com.customizedtrends.app.AppApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * The full application on an in-memory H2 database (MySQL mode) with local image storage,
+ * seeded with a synthetic catalog through JDBC batches so a million rows load in seconds.
+ * Absolute numbers differ from MySQL; the shape as the table grows is what to compare.
+ */
+public class CatalogFixture implements AutoCloseable {
+    public static final int BRANDS = 10;
+    public static final int COLORS = 12;
+    public static final String[] GENDERS = {"Men", "Women", "Unisex"};
+    private static final int BATCH_SIZE = 10_000;
+
+    private final ConfigurableApplicationContext context;
+    private final TransactionTemplate readOnly;
+    private final ObjectMapper objectMapper;
+
+    public CatalogFixture(int tshirts, int designedTshirts) throws IOException {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.datasource.url",
+            "jdbc:h2:mem:bench-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("app.image.storage", "local");
+        properties.put("app.image.storage.local.root", Files.createTempDirectory("bench-images").toString());
+        properties.put("server.port", "0");
+        properties.put("management.server.port", "0");
+        properties.put("logging.level.root", "WARN");
+
+        // As command-line arguments so they override application.properties
+        String[] args = properties.entrySet().stream().map(e -> "--" + e.getKey() + "=" + e.getValue()).toArray(String[]::new);
+        context = new SpringApplicationBuilder(AppApplication.class).run(args);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        objectMapper = context.getBean(ObjectMapper.class);
+        seed(context.getBean(JdbcTemplate.class), tshirts, designedTshirts);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    // Runs a controller call the way a request runs it with open-in-view: lazy collections load during serialization
+    public byte[] respond(Supplier<?> handler) {
+        return readOnly.execute(status -> {
+            try {
+                return objectMapper.writeValueAsBytes(handler.get());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    public static String brandName(int index) {
+        return "Bench Brand " + index;
+    }
+
+    public static String colorName(int index) {
+        return "Bench Color " + index;
+    }
+
+    private static void seed(JdbcTemplate jdbc, int tshirts, int designedTshirts) {
+        List<Long> brandIds = new ArrayList<>();
+        for (int i = 0; i < BRANDS; i++) {
+            jdbc.update("INSERT INTO brand (name) VALUES (?)", brandName(i));
+            brandIds.add(jdbc.queryForObject("SELECT id FROM brand WHERE name = ?", Long.class, brandName(i)));
+        }
+        List<Long> colorIds = new ArrayList<>();
+        for (int i = 0; i < COLORS; i++) {
+            jdbc.update("INSERT INTO color (name, hex_code) VALUES (?, ?)", colorName(i), String.format("#%06x", i * 0x151515));
+            colorIds.add(jdbc.queryForObject("SELECT id FROM color WHERE name = ?", Long.class, colorName(i)));
+        }
+
+        // Spread over brands, colors, genders, prices and a year of creation times; the ratios are arbitrary but fixed
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        insertRows(jdbc, tshirts,
+            "INSERT INTO tshirt (name, brand_id, color_id, gender, price, stock, featured, created_at, image_url) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            i -> new Object[] {"Bench Tee " + i, brandIds.get(i % BRANDS), colorIds.get(i % COLORS), GENDERS[i % 3],
+                price(i), 100, i % 50 == 0, Timestamp.valueOf(start.plusMinutes(i % 525_600)),
+                "https://example.com/tshirts/" + i + ".jpg"});
+        insertRows(jdbc, designedTshirts,
+            "INSERT INTO designed_tshirt (name, brand_id, color_id, gender, price, stock, featured, is_active, created_at, image_url) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            i -> new Object[] {"Bench Designed Tee " + i, brandIds.get(i % BRANDS), colorIds.get(i % COLORS), GENDERS[i % 3],
+                price(i) + 10, 100, i % 50 == 0, i % 20 != 0, Timestamp.valueOf(start.plusMinutes(i % 525_600)),
+                "https://example.com/designed/" + i + ".jpg"});
+    }
+
+    private static double price(int i) {
+        return 10 + (i * 37 % 4000) / 100.0;
+    }
+
+    private static void insertRows(JdbcTemplate jdbc, int rows, String sql, IntFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == BATCH_SIZE || i == rows - 1) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.customizedtrends.app.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares two JMH JSON result files benchmark by benchmark: primary score and allocation per
+ * operation (from -prof gc), with the change relative to the baseline.
+ */
+public class CompareResults {
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> candidate = read(new File(args[1]));
+
+        System.out.printf("%-80s %14s %14s %8s %14s %14s %8s%n",
+            "benchmark", "baseline", "candidate", "change", "alloc base", "alloc cand", "change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            double afterAlloc = after.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble(Double.NaN);
+            if (before == null) {
+                System.out.printf("%-80s %14s %14.3f %8s %14s %14.0f %8s  %s (new)%n",
+                    entry.getKey(), "-", afterScore, "", "-", afterAlloc, "", unit);
+                continue;
+            }
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double beforeAlloc = before.path("secondaryMetrics").path(ALLOCATION).path("score").asDouble(Double.NaN);
+            System.out.printf("%-80s %14.3f %14.3f %8s %14.0f %14.0f %8s  %s%n",
+                entry.getKey(), beforeScore, afterScore, change(beforeScore, afterScore),
+                beforeAlloc, afterAlloc, change(beforeAlloc, afterAlloc), unit);
+        }
+    }
+
+    // Keyed by benchmark method plus its @Param values, so parameterized runs line up
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                .replace("com.customizedtrends.app.benchmarks.", ""));
+            Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static String change(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return "";
+        }
+        return String.format("%+.1f%%", (after - before) / before * 100);
+    }
+}
@@ -0,0 +1,67 @@
+package com.customizedtrends.app.benchmarks;
+
+import com.customizedtrends.app.controller.DesignedTshirtController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DesignedTshirtController filter and paging, serialized as a response, as the catalog grows from
+ * 1k to 1M rows. The page query should stay flat; only the count grows with matching rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DesignedTshirtFilterBenchmark {
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private CatalogFixture fixture;
+    private DesignedTshirtController controller;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = new CatalogFixture(0, rows);
+        controller = fixture.bean(DesignedTshirtController.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] brandAndGenderCards() {
+        return fixture.respond(() -> controller.getDesignedTshirtsWithPagination(0, PAGE_SIZE, "",
+            CatalogFixture.brandName(3), "", "Men", null, null, null, null, null, "card").getBody());
+    }
+
+    @Benchmark
+    public byte[] colorAndPriceRangeFull() {
+        return fixture.respond(() -> controller.getDesignedTshirtsWithPagination(0, PAGE_SIZE, "",
+            "", CatalogFixture.colorName(5), "", null, 20.0, 30.0, null, null, "full").getBody());
+    }
+
+    @Benchmark
+    public byte[] unfilteredDeepPageCards() {
+        return fixture.respond(() -> controller.getDesignedTshirtsWithPagination(rows / PAGE_SIZE / 2, PAGE_SIZE, "",
+            "", "", "", null, null, null, null, null, "card").getBody());
+    }
+}
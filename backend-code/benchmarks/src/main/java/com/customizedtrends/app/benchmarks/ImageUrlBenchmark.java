@@ -0,0 +1,54 @@
+package com.customizedtrends.app.benchmarks;
+
+import com.customizedtrends.app.service.CloudinaryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CloudinaryService URL work done on every upload and delete: thumbnail and optimized variant
+ * URLs, and recovering the public id from a stored URL. None of it touches the network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ImageUrlBenchmark {
+    private static final String JPEG_URL =
+        "https://res.cloudinary.com/demo/image/upload/v1712345678/tshirt-customizer/designs/3f2a9c1e.jpg";
+    private static final String PNG_URL =
+        "https://res.cloudinary.com/demo/image/upload/v1712345678/tshirt-customizer/designs/3f2a9c1e.png";
+
+    private CloudinaryService cloudinaryService;
+
+    @Setup
+    public void setUp() {
+        cloudinaryService = new CloudinaryService("demo", "key", "secret");
+    }
+
+    @Benchmark
+    public String thumbnailUrl() {
+        return cloudinaryService.generateThumbnailUrl(JPEG_URL, 200, 200);
+    }
+
+    @Benchmark
+    public String optimizedPngUrl() {
+        return cloudinaryService.generateOptimizedUrl(PNG_URL);
+    }
+
+    @Benchmark
+    public String extractPublicId() {
+        return cloudinaryService.extractPublicId(JPEG_URL);
+    }
+}
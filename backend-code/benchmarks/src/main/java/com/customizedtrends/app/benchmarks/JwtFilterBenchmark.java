@@ -0,0 +1,81 @@
+package com.customizedtrends.app.benchmarks;
+
+import com.customizedtrends.app.config.JwtFilter;
+import com.customizedtrends.app.service.JwtService;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JwtFilter: a request carrying an already-verified token (the cache hit every
+ * browse request after login takes), an anonymous request, and a full parse + HMAC check, which is
+ * what every request paid before verified tokens were cached.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtService jwtService;
+    private JwtFilter jwtFilter;
+    private String token;
+    private MockHttpServletRequest withToken;
+    private MockHttpServletRequest anonymous;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(10_000);
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "benchmark_secret_key_benchmark_secret_key");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", TimeUnit.HOURS.toMillis(1));
+        jwtFilter = new JwtFilter();
+        ReflectionTestUtils.setField(jwtFilter, "jwtService", jwtService);
+
+        token = jwtService.generateToken("42", "USER");
+        withToken = new MockHttpServletRequest("GET", "/api/designed-tshirts/page");
+        withToken.addHeader("Authorization", "Bearer " + token);
+        anonymous = new MockHttpServletRequest("GET", "/api/designed-tshirts/page");
+        jwtService.verify(token);
+    }
+
+    @Benchmark
+    public Object filterCachedToken() throws Exception {
+        jwtFilter.doFilter(withToken, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public Object filterAnonymous() throws Exception {
+        jwtFilter.doFilter(anonymous, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return takeAuthentication();
+    }
+
+    @Benchmark
+    public String parseAndVerify() {
+        return jwtService.extractUsername(token);
+    }
+
+    // Reset between invocations, as the servlet container does between requests
+    private static Object takeAuthentication() {
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,72 @@
+package com.customizedtrends.app.benchmarks;
+
+import com.customizedtrends.app.mockup.MockupRenderer;
+import com.customizedtrends.app.service.ImageProcessingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.GradientPaint;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mockup renders per second on one core, at each preview size MockupService serves: compositing
+ * alone, and compositing plus the JPEG encode a cache miss pays. Run with -t N to see scaling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockupRenderBenchmark {
+    @Param({"200", "400", "800"})
+    private int width;
+
+    private final MockupRenderer renderer = new MockupRenderer();
+    private ImageProcessingService imageProcessingService;
+    private BufferedImage tshirt;
+    private BufferedImage design;
+
+    @Setup
+    public void setUp() {
+        imageProcessingService = new ImageProcessingService();
+        ReflectionTestUtils.setField(imageProcessingService, "jpegQuality", 0.8f);
+
+        // Source images in the layouts MockupService converts decoded images to
+        tshirt = new BufferedImage(1200, 1440, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = tshirt.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.LIGHT_GRAY, 1200, 1440, Color.DARK_GRAY));
+        g.fillRect(0, 0, 1200, 1440);
+        g.dispose();
+
+        design = new BufferedImage(600, 600, BufferedImage.TYPE_INT_ARGB_PRE);
+        g = design.createGraphics();
+        g.setColor(new Color(200, 30, 60, 220));
+        g.fillOval(50, 50, 500, 500);
+        g.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage composite() {
+        return renderer.render(tshirt, design, 1.2, MockupRenderer.DEFAULT_X, MockupRenderer.DEFAULT_Y, 1.0, width);
+    }
+
+    @Benchmark
+    public byte[] compositeAndEncodeJpeg() throws IOException {
+        return imageProcessingService.encode(composite(), "image/jpeg");
+    }
+}
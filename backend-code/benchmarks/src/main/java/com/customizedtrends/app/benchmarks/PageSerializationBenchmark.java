@@ -0,0 +1,144 @@
+package com.customizedtrends.app.benchmarks;
+
+import com.customizedtrends.app.dto.ProductCard;
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.Design;
+import com.customizedtrends.app.model.DesignedTshirt;
+import com.customizedtrends.app.model.DesignedTshirtImage;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.model.TshirtImage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson cost of a catalog page as the controllers return it: full Tshirt and DesignedTshirt
+ * entities with their images and sizes, against the ProductCard rows of view=card.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageSerializationBenchmark {
+    @Param({"10", "50"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Tshirt> tshirts;
+    private Page<DesignedTshirt> designedTshirts;
+    private Page<ProductCard> cards;
+
+    @Setup
+    public void setUp() {
+        // Configured the way Spring Boot builds the application's ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Brand brand = new Brand();
+        brand.setId(1L);
+        brand.setName("Benchmark Brand");
+        Color color = new Color();
+        color.setId(1L);
+        color.setName("Navy");
+        color.setHexCode("#000080");
+        Design design = new Design();
+        design.setId(1L);
+        design.setName("Benchmark Design");
+        design.setImageUrl("https://res.cloudinary.com/demo/image/upload/designs/benchmark.png");
+
+        List<Tshirt> tshirtRows = new ArrayList<>();
+        List<DesignedTshirt> designedRows = new ArrayList<>();
+        List<ProductCard> cardRows = new ArrayList<>();
+        for (long id = 1; id <= pageSize; id++) {
+            Tshirt tshirt = new Tshirt();
+            tshirt.setId(id);
+            tshirt.setName("Benchmark Tee " + id);
+            tshirt.setBrand(brand);
+            tshirt.setColor(color);
+            tshirt.setGender("Unisex");
+            tshirt.setMaterial("Cotton");
+            tshirt.setPrice(19.99 + id);
+            tshirt.setStock(100);
+            tshirt.setSizes(new ArrayList<>(List.of("S", "M", "L", "XL")));
+            tshirt.setImageUrl(imageUrl("tshirts", id, 0));
+            tshirt.setThumbnailUrl(imageUrl("tshirts", id, 0).replace("/upload/", "/upload/c_thumb,w_200,h_200/"));
+            List<TshirtImage> tshirtImages = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                TshirtImage image = new TshirtImage();
+                image.setImageUrl(imageUrl("tshirts", id, i));
+                image.setIsMain(i == 0);
+                image.setTshirt(tshirt);
+                tshirtImages.add(image);
+            }
+            tshirt.setImages(tshirtImages);
+            tshirtRows.add(tshirt);
+
+            DesignedTshirt designedTshirt = new DesignedTshirt();
+            designedTshirt.setId(id);
+            designedTshirt.setName("Benchmark Designed Tee " + id);
+            designedTshirt.setBrand(brand);
+            designedTshirt.setColor(color);
+            designedTshirt.setDesign(design);
+            designedTshirt.setGender("Unisex");
+            designedTshirt.setPrice(29.99 + id);
+            designedTshirt.setSizes(new ArrayList<>(List.of("S", "M", "L", "XL")));
+            designedTshirt.setImageUrl(imageUrl("designed", id, 0));
+            List<DesignedTshirtImage> designedImages = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                DesignedTshirtImage image = new DesignedTshirtImage();
+                image.setImageUrl(imageUrl("designed", id, i));
+                image.setIsMain(i == 0);
+                image.setDesignedTshirt(designedTshirt);
+                designedImages.add(image);
+            }
+            designedTshirt.setImages(designedImages);
+            designedRows.add(designedTshirt);
+
+            cardRows.add(new ProductCard(id, designedTshirt.getName(), designedTshirt.getPrice(), imageUrl("designed", id, 0),
+                tshirt.getThumbnailUrl(), brand.getName(), color.getName(), color.getHexCode()));
+        }
+        PageRequest pageable = PageRequest.of(0, pageSize);
+        tshirts = new PageImpl<>(tshirtRows, pageable, 10_000);
+        designedTshirts = new PageImpl<>(designedRows, pageable, 10_000);
+        cards = new PageImpl<>(cardRows, pageable, 10_000);
+    }
+
+    private static String imageUrl(String folder, long id, int index) {
+        return "https://res.cloudinary.com/demo/image/upload/v1712345678/" + folder + "/" + id + "-" + index + ".jpg";
+    }
+
+    @Benchmark
+    public byte[] tshirtPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(tshirts);
+    }
+
+    @Benchmark
+    public byte[] designedTshirtPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(designedTshirts);
+    }
+
+    @Benchmark
+    public byte[] productCardPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cards);
+    }
+}
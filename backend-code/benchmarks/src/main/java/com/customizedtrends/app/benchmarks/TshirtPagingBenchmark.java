@@ -0,0 +1,75 @@
+package com.customizedtrends.app.benchmarks;
+
+import com.customizedtrends.app.controller.TshirtController;
+import com.customizedtrends.app.dto.ProductCard;
+import com.customizedtrends.app.paging.CatalogSort;
+import com.customizedtrends.app.paging.KeysetRow;
+import com.customizedtrends.app.repository.TshirtRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page 1000 of /api/tshirts/page (view=card, 20 rows) by offset and by cursor, over 100k rows.
+ * The offset page reads and discards 20,000 rows first; the cursor page seeks straight to them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TshirtPagingBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int PAGE = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"createdAt", "price", "name"})
+    private String sortBy;
+
+    private CatalogFixture fixture;
+    private TshirtController controller;
+    private String cursor;
+
+    @Setup
+    public void setUp() throws IOException {
+        fixture = new CatalogFixture(ROWS, 0);
+        controller = fixture.bean(TshirtController.class);
+
+        // The cursor a client holds after walking to page 1000
+        List<KeysetRow<ProductCard>> rows = fixture.bean(TshirtRepository.class).findCardsAfter("", "", "",
+            CatalogSort.fromParam(sortBy), Sort.Direction.DESC, null, PAGE * PAGE_SIZE);
+        cursor = rows.get(rows.size() - 1).position().encode();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] offsetPage() {
+        return fixture.respond(() -> controller.getTshirtsWithPagination(PAGE, PAGE_SIZE, "", "", "", "",
+            sortBy, "desc", "card", null).getBody());
+    }
+
+    @Benchmark
+    public byte[] cursorPage() {
+        return fixture.respond(() -> controller.getTshirtsWithPagination(0, PAGE_SIZE, "", "", "", "",
+            sortBy, "desc", "card", cursor).getBody());
+    }
+}
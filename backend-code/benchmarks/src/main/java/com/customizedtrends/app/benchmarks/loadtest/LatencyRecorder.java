@@ -0,0 +1,58 @@
+package com.customizedtrends.app.benchmarks.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Every latency of one endpoint, kept exactly so the percentiles are exact rather than bucketed.
+ * A run of a few minutes records at most a few million values per endpoint.
+ */
+class LatencyRecorder {
+    private long[] nanos = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(long elapsedNanos, boolean ok) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = elapsedNanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    // All endpoints together, for the overall row
+    static LatencyRecorder combine(Collection<LatencyRecorder> recorders) {
+        LatencyRecorder combined = new LatencyRecorder();
+        for (LatencyRecorder recorder : recorders) {
+            synchronized (recorder) {
+                combined.nanos = Arrays.copyOf(combined.nanos, combined.count + recorder.count);
+                System.arraycopy(recorder.nanos, 0, combined.nanos, combined.count, recorder.count);
+                combined.count += recorder.count;
+                combined.errors += recorder.errors;
+            }
+        }
+        return combined;
+    }
+
+    synchronized Summary summarize(String endpoint, double seconds) {
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return new Summary(endpoint, count, errors, count / seconds,
+            percentile(sorted, 0.50), percentile(sorted, 0.95), percentile(sorted, 0.99),
+            count == 0 ? 0 : sorted[count - 1] / 1e6);
+    }
+
+    // Nearest-rank percentile, in milliseconds
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(rank - 1, 0)] / 1e6;
+    }
+
+    record Summary(String endpoint, int requests, int errors, double throughput,
+                   double p50, double p95, double p99, double max) {}
+}
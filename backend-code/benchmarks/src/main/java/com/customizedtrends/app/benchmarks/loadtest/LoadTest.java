@@ -0,0 +1,296 @@
+package com.customizedtrends.app.benchmarks.loadtest;
+
+import com.customizedtrends.app.AppApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Closed-loop load test: a fixed number of clients each run a weighted mix of shopper flows back to
+ * back, and the report gives throughput and p50/p95/p99 per endpoint.
+ *
+ * Without --target it starts the app in its own JVM with the loadtest profile (embedded database,
+ * local image storage, synthetic catalog), once per thread mode, so no MySQL or Cloudinary is needed.
+ * Options are --name=value; any option containing a dot (e.g. --app.loadtest.seed.tshirts=100000)
+ * is passed to the started app.
+ */
+public class LoadTest {
+    private static final Map<String, String> DEFAULTS = Map.of(
+        "duration", "PT60S",
+        "warmup", "PT15S",
+        "concurrency", "32",
+        "mix", "browse=60,search=15,customize=15,checkout=7,upload=3",
+        "threads", "platform",
+        "users", "20",
+        "password", "loadtest123",
+        "app-jvm", "-Xmx1g",
+        "max-error-rate", "0.01",
+        "tolerance", "0.2");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>(DEFAULTS);
+        List<String> appArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                System.err.println("Options are --name=value, got: " + arg);
+                System.exit(2);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (name.contains(".")) {
+                appArgs.add(arg);
+            } else {
+                options.put(name, arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+
+        Map<Workload.Flow, Integer> mix = parseMix(options.get("mix"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        Duration warmup = Duration.parse(options.get("warmup"));
+        Duration duration = Duration.parse(options.get("duration"));
+
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (String threads : threadModes(options)) {
+            Process app = null;
+            String target = options.get("target");
+            if (target == null) {
+                int port = freePort();
+                app = startApp(options.get("app-jvm"), port, "virtual".equals(threads), appArgs, threads);
+                target = "http://localhost:" + port;
+            }
+            try {
+                HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+                Workload workload = new Workload(client, target);
+                workload.prepare(Integer.parseInt(options.get("users")), options.get("password"), Duration.ofMinutes(3));
+
+                System.out.printf("%n%s: %d clients, %d s measured after %d s warm-up, mix %s%n",
+                    target + (app != null ? " (" + threads + " threads)" : ""), concurrency,
+                    duration.toSeconds(), warmup.toSeconds(), options.get("mix"));
+                List<LatencyRecorder.Summary> summaries = drive(workload, mix, concurrency, warmup, duration);
+                print(summaries);
+
+                Map<String, Object> run = new LinkedHashMap<>();
+                run.put("threads", app != null ? threads : "external");
+                run.put("concurrency", concurrency);
+                run.put("durationSeconds", duration.toSeconds());
+                run.put("mix", options.get("mix"));
+                run.put("endpoints", summaries);
+                runs.add(run);
+            } finally {
+                if (app != null) {
+                    app.destroy();
+                    app.waitFor(30, TimeUnit.SECONDS);
+                }
+            }
+        }
+
+        ObjectMapper mapper = new ObjectMapper();
+        if (options.containsKey("report")) {
+            mapper.writerWithDefaultPrettyPrinter().writeValue(new File(options.get("report")), Map.of("runs", runs));
+            System.out.println("\nReport written to " + options.get("report"));
+        }
+
+        boolean failed = checkErrorRate(runs, Double.parseDouble(options.get("max-error-rate")));
+        if (options.containsKey("baseline")) {
+            failed |= compare(mapper.readTree(new File(options.get("baseline"))), mapper.valueToTree(Map.of("runs", runs)),
+                Double.parseDouble(options.get("tolerance")));
+        }
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static List<LatencyRecorder.Summary> drive(Workload workload, Map<Workload.Flow, Integer> mix, int concurrency,
+                                                       Duration warmup, Duration duration) throws InterruptedException {
+        List<Workload.Flow> flows = new ArrayList<>(mix.keySet());
+        int[] cumulative = new int[flows.size()];
+        int total = 0;
+        for (int i = 0; i < flows.size(); i++) {
+            total += mix.get(flows.get(i));
+            cumulative[i] = total;
+        }
+        int weights = total;
+
+        // Warm-up latencies go to a map that is thrown away
+        AtomicReference<Map<String, LatencyRecorder>> recorders = new AtomicReference<>(new ConcurrentHashMap<>());
+        long warmupEnd = System.nanoTime() + warmup.toNanos();
+        long end = warmupEnd + duration.toNanos();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            Random random = new Random(c);
+            clients.execute(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        int roll = random.nextInt(weights);
+                        int flow = 0;
+                        while (roll >= cumulative[flow]) {
+                            flow++;
+                        }
+                        Map<String, LatencyRecorder> current = recorders.get();
+                        workload.run(flows.get(flow), random, endpoint -> current.computeIfAbsent(endpoint, e -> new LatencyRecorder()));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        Thread.sleep(Math.max(0, TimeUnit.NANOSECONDS.toMillis(warmupEnd - System.nanoTime())));
+        Map<String, LatencyRecorder> measured = new ConcurrentHashMap<>();
+        recorders.set(measured);
+        long measureStart = System.nanoTime();
+        clients.shutdown();
+        clients.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+        List<LatencyRecorder.Summary> summaries = new ArrayList<>();
+        measured.entrySet().stream().sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> summaries.add(entry.getValue().summarize(entry.getKey(), seconds)));
+        summaries.add(LatencyRecorder.combine(measured.values()).summarize("ALL", seconds));
+        return summaries;
+    }
+
+    private static void print(List<LatencyRecorder.Summary> summaries) {
+        System.out.printf("%-40s %9s %7s %9s %9s %9s %9s %9s%n",
+            "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms");
+        for (LatencyRecorder.Summary s : summaries) {
+            System.out.printf("%-40s %9d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                s.endpoint(), s.requests(), s.errors(), s.throughput(), s.p50(), s.p95(), s.p99(), s.max());
+        }
+    }
+
+    // Both modes need Java 21; on older runtimes the app would silently keep platform threads
+    private static List<String> threadModes(Map<String, String> options) {
+        List<String> modes = "both".equals(options.get("threads")) ? List.of("platform", "virtual") : List.of(options.get("threads"));
+        if (options.containsKey("target") || Runtime.version().feature() >= 21) {
+            return modes;
+        }
+        if (modes.contains("virtual")) {
+            System.out.println("Virtual threads need Java 21+, this is Java " + Runtime.version().feature() +
+                "; running platform threads only");
+        }
+        return List.of("platform");
+    }
+
+    // The app's own JVM, so its heap, GC and CPU are not shared with the clients
+    private static Process startApp(String jvmOptions, int port, boolean virtualThreads, List<String> appArgs,
+                                    String threads) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(jvmOptions.trim().split("\\s+")));
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), AppApplication.class.getName(),
+            "--spring.profiles.active=loadtest",
+            "--server.port=" + port,
+            "--spring.threads.virtual.enabled=" + virtualThreads,
+            "--app.image.storage.local.root=" + Files.createTempDirectory("loadtest-images")));
+        command.addAll(appArgs);
+
+        File log = new File("target", "loadtest-app-" + threads + ".log");
+        log.getParentFile().mkdirs();
+        System.out.println("Starting the app on port " + port + " with " + threads + " threads; log in " + log);
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<Workload.Flow, Integer> parseMix(String mix) {
+        Map<Workload.Flow, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] entry = part.trim().split("=");
+            int weight = Integer.parseInt(entry[1].trim());
+            if (weight > 0) {
+                weights.put(Workload.Flow.valueOf(entry[0].trim().toUpperCase()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix has no flows: " + mix);
+        }
+        return weights;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean checkErrorRate(List<Map<String, Object>> runs, double maxErrorRate) {
+        boolean failed = false;
+        for (Map<String, Object> run : runs) {
+            List<LatencyRecorder.Summary> endpoints = (List<LatencyRecorder.Summary>) run.get("endpoints");
+            LatencyRecorder.Summary all = endpoints.get(endpoints.size() - 1);
+            double rate = all.requests() == 0 ? 1 : (double) all.errors() / all.requests();
+            if (rate > maxErrorRate) {
+                System.out.printf("FAIL: %s threads had an error rate of %.2f%% (limit %.2f%%)%n",
+                    run.get("threads"), rate * 100, maxErrorRate * 100);
+                failed = true;
+            }
+        }
+        return failed;
+    }
+
+    // Runs are matched by thread mode; overall throughput and p99 must stay within the tolerance
+    private static boolean compare(JsonNode baseline, JsonNode candidate, double tolerance) {
+        boolean failed = false;
+        for (JsonNode run : candidate.path("runs")) {
+            JsonNode before = null;
+            for (JsonNode baselineRun : baseline.path("runs")) {
+                if (baselineRun.path("threads").equals(run.path("threads"))) {
+                    before = baselineRun;
+                }
+            }
+            if (before == null) {
+                continue;
+            }
+            Map<String, JsonNode> previous = new LinkedHashMap<>();
+            before.path("endpoints").forEach(endpoint -> previous.put(endpoint.path("endpoint").asText(), endpoint));
+
+            System.out.printf("%nAgainst the baseline (%s threads):%n%-40s %9s %9s %8s %9s %9s %8s%n", run.path("threads").asText(),
+                "endpoint", "req/s", "was", "change", "p99 ms", "was", "change");
+            for (JsonNode endpoint : run.path("endpoints")) {
+                JsonNode old = previous.get(endpoint.path("endpoint").asText());
+                if (old == null) {
+                    continue;
+                }
+                double throughput = endpoint.path("throughput").asDouble();
+                double p99 = endpoint.path("p99").asDouble();
+                System.out.printf("%-40s %9.1f %9.1f %8s %9.1f %9.1f %8s%n", endpoint.path("endpoint").asText(),
+                    throughput, old.path("throughput").asDouble(), change(old.path("throughput").asDouble(), throughput),
+                    p99, old.path("p99").asDouble(), change(old.path("p99").asDouble(), p99));
+                if ("ALL".equals(endpoint.path("endpoint").asText())) {
+                    if (throughput < old.path("throughput").asDouble() * (1 - tolerance)) {
+                        System.out.println("FAIL: throughput dropped by more than " + Math.round(tolerance * 100) + "%");
+                        failed = true;
+                    }
+                    if (p99 > old.path("p99").asDouble() * (1 + tolerance)) {
+                        System.out.println("FAIL: p99 grew by more than " + Math.round(tolerance * 100) + "%");
+                        failed = true;
+                    }
+                }
+            }
+        }
+        return failed;
+    }
+
+    private static String change(double before, double after) {
+        return before == 0 ? "" : String.format("%+.1f%%", (after - before) / before * 100);
+    }
+}
@@ -0,0 +1,256 @@
+package com.customizedtrends.app.benchmarks.loadtest;
+
+import com.customizedtrends.app.config.LoadTestDataSeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * What a shopper does against a seeded loadtest instance, one flow per call. Each request is recorded
+ * under its route template so the report has one row per endpoint, whatever ids were picked.
+ */
+class Workload {
+    enum Flow { BROWSE, SEARCH, CUSTOMIZE, CHECKOUT, UPLOAD }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final double[] ZOOMS = {0.8, 1.0, 1.2};
+    private static final String[] SIZES = {"S", "M", "L", "XL"};
+    private static final int UPLOAD_IMAGES = 3;
+
+    private final HttpClient client;
+    private final String target;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final List<Long> tshirtIds = new ArrayList<>();
+    private final List<Long> designIds = new ArrayList<>();
+    private final List<Long> designedTshirtIds = new ArrayList<>();
+    private final List<String> brands = new ArrayList<>();
+    private final List<String> imagePaths = new ArrayList<>();
+    private final List<String> tokens = new ArrayList<>();
+    private final List<byte[]> uploads = new ArrayList<>();
+
+    Workload(HttpClient client, String target) {
+        this.client = client;
+        this.target = target.endsWith("/") ? target.substring(0, target.length() - 1) : target;
+    }
+
+    // Waits for the search index, then collects ids with local images and logs the users in
+    void prepare(int users, String password, Duration readyTimeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + readyTimeout.toNanos();
+        while (!searchable()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("No searchable catalog at " + target + "; is it running with the loadtest profile?");
+            }
+            Thread.sleep(500);
+        }
+
+        for (JsonNode tshirt : get("/api/tshirts/page?size=100").path("content")) {
+            if (isLocal(tshirt.path("imageUrl").asText())) {
+                tshirtIds.add(tshirt.path("id").asLong());
+                imagePaths.add(URI.create(tshirt.path("thumbnailUrl").asText()).getPath());
+            }
+        }
+        for (JsonNode design : get("/api/designs?size=100").path("content")) {
+            if (isLocal(design.path("imageUrl").asText())) {
+                designIds.add(design.path("id").asLong());
+            }
+        }
+        for (JsonNode card : get("/api/designed-tshirts/page?size=100&view=card").path("content")) {
+            designedTshirtIds.add(card.path("id").asLong());
+        }
+        for (JsonNode brand : get("/api/brands")) {
+            brands.add(brand.path("name").asText());
+        }
+        if (tshirtIds.isEmpty() || designIds.isEmpty() || designedTshirtIds.isEmpty()) {
+            throw new IllegalStateException("The catalog at " + target + " has no seeded products with local images");
+        }
+
+        for (int i = 0; i < users; i++) {
+            String body = mapper.writeValueAsString(Map.of(
+                "nameOrEmail", LoadTestDataSeeder.USER_PREFIX + i, "password", password));
+            HttpResponse<byte[]> response = client.send(request("/api/auth/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login failed for " + LoadTestDataSeeder.USER_PREFIX + i + ": " + response.statusCode());
+            }
+            tokens.add(mapper.readTree(response.body()).path("token").asText());
+        }
+
+        for (int i = 0; i < UPLOAD_IMAGES; i++) {
+            uploads.add(uploadImage(i));
+        }
+    }
+
+    void run(Flow flow, Random random, Function<String, LatencyRecorder> recorders) throws InterruptedException {
+        switch (flow) {
+            case BROWSE -> browse(random, recorders);
+            case SEARCH -> search(random, recorders);
+            case CUSTOMIZE -> customize(random, recorders);
+            case CHECKOUT -> checkout(random, recorders);
+            case UPLOAD -> upload(random, recorders);
+        }
+    }
+
+    // Listings dominate, as in the storefront: the home page, grids (first pages mostly), product pages and thumbnails
+    private void browse(Random random, Function<String, LatencyRecorder> recorders) throws InterruptedException {
+        int page = random.nextInt(10) < 8 ? random.nextInt(3) : random.nextInt(50);
+        switch (random.nextInt(6)) {
+            case 0 -> send("GET /api/home", request("/api/home").build(), recorders);
+            case 1 -> send("GET /api/tshirts/page", request("/api/tshirts/page?view=card&size=20&page=" + page +
+                (random.nextBoolean() ? "&sortBy=price&sortOrder=asc" : "")).build(), recorders);
+            case 2 -> send("GET /api/designed-tshirts/page", request("/api/designed-tshirts/page?view=card&size=20&page=" + page +
+                (random.nextBoolean() ? "&brand=" + encode(pick(brands, random)) : "")).build(), recorders);
+            case 3 -> send("GET /api/tshirts/id/{id}", request("/api/tshirts/id/" + pick(tshirtIds, random)).build(), recorders);
+            case 4 -> send("GET /api/designed-tshirts/{id}",
+                request("/api/designed-tshirts/" + pick(designedTshirtIds, random)).build(), recorders);
+            default -> send("GET /api/images/**", request(pick(imagePaths, random)).build(), recorders);
+        }
+    }
+
+    private void search(Random random, Function<String, LatencyRecorder> recorders) throws InterruptedException {
+        String query = pick(List.of(LoadTestDataSeeder.STYLES), random);
+        if (random.nextBoolean()) {
+            query += " " + pick(List.of(LoadTestDataSeeder.CUTS), random);
+        }
+        String params = "?size=20&query=" + encode(query.toLowerCase());
+        if (random.nextBoolean()) {
+            send("GET /api/tshirts/search", request("/api/tshirts/search" + params).build(), recorders);
+        } else {
+            send("GET /api/designed-tshirts/search", request("/api/designed-tshirts/search" + params).build(), recorders);
+        }
+    }
+
+    // Positions come from a small set, so renders mix cache hits with fresh composites
+    private void customize(Random random, Function<String, LatencyRecorder> recorders) throws InterruptedException {
+        if (random.nextInt(4) == 0) {
+            send("GET /api/designed-tshirts/{id}/mockup",
+                request("/api/designed-tshirts/" + pick(designedTshirtIds, random) + "/mockup?size=400").build(), recorders);
+            return;
+        }
+        String path = "/api/designs/" + pick(designIds, random) + "/mockup?size=400" +
+            "&tshirtId=" + pick(tshirtIds, random) +
+            "&zoom=" + ZOOMS[random.nextInt(ZOOMS.length)] +
+            "&x=" + (40 + 5 * random.nextInt(5)) +
+            "&y=" + (30 + 5 * random.nextInt(5));
+        send("GET /api/designs/{id}/mockup", request(path).build(), recorders);
+    }
+
+    private void checkout(Random random, Function<String, LatencyRecorder> recorders) throws InterruptedException {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 1 + random.nextInt(3); i > 0; i--) {
+            items.add(Map.of("tshirtId", pick(tshirtIds, random), "designId", pick(designIds, random),
+                "quantity", 1 + random.nextInt(2), "size", SIZES[random.nextInt(SIZES.length)]));
+        }
+        String body;
+        try {
+            body = mapper.writeValueAsString(Map.of("customerName", "Load Test", "address", "1 Test Street", "items", items));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        send("POST /api/orders", request("/api/orders")
+            .header("Authorization", "Bearer " + pick(tokens, random))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body)).build(), recorders);
+    }
+
+    private void upload(Random random, Function<String, LatencyRecorder> recorders) throws InterruptedException {
+        String boundary = UUID.randomUUID().toString();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        Map<String, String> fields = Map.of("name", "Load Test Upload", "type", "Abstract", "theme", "Modern",
+            "tags", "loadtest", "uploadedBy", "loadtest", "date", "2025-01-01", "description", "Uploaded by the load test");
+        fields.forEach((name, value) -> body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" +
+            name + "\"\r\n\r\n" + value + "\r\n").getBytes(StandardCharsets.UTF_8)));
+        body.writeBytes(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"image\"; filename=\"design.png\"\r\n" +
+            "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+        body.writeBytes(pick(uploads, random));
+        body.writeBytes(("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+        send("POST /api/designs/upload", request("/api/designs/upload")
+            .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray())).build(), recorders);
+    }
+
+    // Connection failures count as errors with the time they took; 304s are successes
+    private void send(String endpoint, HttpRequest request, Function<String, LatencyRecorder> recorders) throws InterruptedException {
+        long start = System.nanoTime();
+        boolean ok;
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            ok = status < 400;
+        } catch (IOException e) {
+            ok = false;
+        }
+        recorders.apply(endpoint).record(System.nanoTime() - start, ok);
+    }
+
+    // The index is built once the app is ready, after seeding; until then the server may not even be listening
+    private boolean searchable() throws InterruptedException {
+        try {
+            return get("/api/tshirts/search?query=tee&size=1").path("totalElements").asLong() > 0;
+        } catch (IOException | IllegalStateException e) {
+            return false;
+        }
+    }
+
+    private JsonNode get(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request(path).build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return mapper.readTree(response.body());
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(target + path)).timeout(TIMEOUT);
+    }
+
+    // Seeded images live in the instance's local store; DataInitializer's samples point at Cloudinary
+    private static boolean isLocal(String imageUrl) {
+        return imageUrl.contains("/api/images/");
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    // A photo-sized PNG, big enough that processing and thumbnailing do real work
+    private static byte[] uploadImage(int variant) throws IOException {
+        BufferedImage image = new BufferedImage(1600, 1600, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, new Color(30 * variant, 120, 200), 1600, 1600, new Color(240, 200 - 40 * variant, 60)));
+        g.fillRect(0, 0, 1600, 1600);
+        Random random = new Random(variant);
+        for (int i = 0; i < 300; i++) {
+            g.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+            g.fillOval(random.nextInt(1600), random.nextInt(1600), 20 + random.nextInt(120), 20 + random.nextInt(120));
+        }
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,34 @@
+package com.customizedtrends.app.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class AuthExecutorConfig {
+
+    // 0 means one thread per CPU; BCrypt is pure CPU work so more threads only add contention
+    @Value("${app.auth.pool-size:0}")
+    private int poolSize;
+
+    @Value("${app.auth.queue-capacity:50}")
+    private int queueCapacity;
+
+    // Password hashing runs here instead of on Tomcat threads. When the queue is full new work is rejected,
+    // so a login burst can hold at most pool-size + queue-capacity request threads and browsing keeps the rest.
+    @Bean(name = "authExecutor")
+    public ThreadPoolTaskExecutor authExecutor() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("auth-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
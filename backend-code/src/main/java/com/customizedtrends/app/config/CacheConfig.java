@@ -0,0 +1,50 @@
+package com.customizedtrends.app.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String BRANDS_BY_ID = "brandsById";
+    public static final String BRANDS_BY_NAME = "brandsByName";
+    public static final String COLORS_BY_ID = "colorsById";
+    public static final String COLORS_BY_NAME = "colorsByName";
+    public static final String DESIGNS_BY_ID = "designsById";
+    public static final String CATEGORIES = "categories";
+
+    @Value("${app.cache.reference.maximum-size:1000}")
+    private long referenceMaximumSize;
+
+    @Value("${app.cache.reference.ttl:PT10M}")
+    private Duration referenceTtl;
+
+    // Brands, colors and designs change rarely and are evicted explicitly by their services;
+    // the TTL only bounds how stale an entry can get if something writes around the services
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        for (String name : new String[] {BRANDS_BY_ID, BRANDS_BY_NAME, COLORS_BY_ID, COLORS_BY_NAME, DESIGNS_BY_ID}) {
+            cacheManager.registerCustomCache(name, Caffeine.newBuilder()
+                .maximumSize(referenceMaximumSize)
+                .expireAfterWrite(referenceTtl)
+                .recordStats()
+                .build());
+        }
+        // Evicted on every catalog write; the TTL is only a safety net
+        cacheManager.registerCustomCache(CATEGORIES, Caffeine.newBuilder()
+            .maximumSize(1)
+            .expireAfterWrite(Duration.ofHours(1))
+            .recordStats()
+            .build());
+        return cacheManager;
+    }
+}
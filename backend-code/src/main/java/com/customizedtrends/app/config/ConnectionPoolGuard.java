@@ -0,0 +1,121 @@
+package com.customizedtrends.app.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// With platform threads Tomcat's pool bounds how many requests can wait on the database. Virtual threads remove that
+// bound, so cap connection holders plus waiters here and fail fast instead of letting thousands of threads queue on Hikari.
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class ConnectionPoolGuard implements BeanPostProcessor, Ordered {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolGuard.class);
+
+    private final int maxWaiting;
+    private final Duration acquireTimeout;
+
+    public ConnectionPoolGuard(Environment environment) {
+        this.maxWaiting = environment.getProperty("app.threads.db.max-waiting", Integer.class, 100);
+        this.acquireTimeout = environment.getProperty("app.threads.db.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource hikari) {
+            int permits = hikari.getMaximumPoolSize() + maxWaiting;
+            logger.info("Virtual threads enabled; limiting '{}' to {} connections plus {} waiting callers",
+                beanName, hikari.getMaximumPoolSize(), maxWaiting);
+            return new GuardedDataSource(hikari, permits, acquireTimeout);
+        }
+        return bean;
+    }
+
+    // Before any post processor that wraps the pool (query tracking), which would hide the HikariDataSource
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    static class GuardedDataSource extends DelegatingDataSource {
+        private final Semaphore permits;
+        private final Duration acquireTimeout;
+
+        GuardedDataSource(DataSource target, int permits, Duration acquireTimeout) {
+            super(target);
+            this.permits = new Semaphore(permits, true);
+            this.acquireTimeout = acquireTimeout;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            acquire();
+            try {
+                return releasingOnClose(obtainTargetDataSource().getConnection());
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            acquire();
+            try {
+                return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+            } catch (SQLException | RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+
+        int availablePermits() {
+            return permits.availablePermits();
+        }
+
+        private void acquire() throws SQLException {
+            try {
+                if (!permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new SQLTransientConnectionException("Connection pool saturated; gave up after " + acquireTimeout);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+            }
+        }
+
+        // The permit follows the connection and is returned on the first close
+        private Connection releasingOnClose(Connection connection) {
+            AtomicBoolean released = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+        }
+    }
+}
@@ -2,7 +2,7 @@ package com.customizedtrends.app.config;
 
 import com.customizedtrends.app.model.*;
 import com.customizedtrends.app.repository.*;
-import com.customizedtrends.app.service.CloudinaryService;
+import com.customizedtrends.app.service.ImageStorage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -29,7 +29,7 @@ public class DataInitializer implements CommandLineRunner {
     private DesignRepository designRepository;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private ImageStorage imageStorage;
 
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
@@ -144,9 +144,10 @@ public class DataInitializer implements CommandLineRunner {
             tshirt.setFeatured(i < 3); // First 3 are featured
             
             // Set placeholder Cloudinary URLs
-            tshirt.setImageUrl("https://res.cloudinary.com/dbanspk1d/image/upload/v1/placeholder-tshirt.jpg");
-            tshirt.setThumbnailUrl("https://res.cloudinary.com/dbanspk1d/image/upload/c_thumb,w_200,h_200/v1/placeholder-tshirt.jpg");
-            tshirt.setOptimizedUrl("https://res.cloudinary.com/dbanspk1d/image/upload/f_auto,q_auto/v1/placeholder-tshirt.jpg");
+            String imageUrl = "https://res.cloudinary.com/dbanspk1d/image/upload/v1/placeholder-tshirt.jpg";
+            tshirt.setImageUrl(imageUrl);
+            tshirt.setThumbnailUrl(imageStorage.generateThumbnailUrl(imageUrl, 200, 200));
+            tshirt.setOptimizedUrl(imageStorage.generateOptimizedUrl(imageUrl));
             
             tshirtRepository.save(tshirt);
             System.out.println("Created t-shirt: " + tshirtNames[i]);
@@ -206,9 +207,10 @@ public class DataInitializer implements CommandLineRunner {
             design.setDescription(descriptions[i]);
             
             // Set placeholder Cloudinary URLs
-            design.setImageUrl("https://res.cloudinary.com/dbanspk1d/image/upload/v1/placeholder-design-" + (i + 1) + ".jpg");
-            design.setThumbnailUrl("https://res.cloudinary.com/dbanspk1d/image/upload/c_thumb,w_200,h_200/v1/placeholder-design-" + (i + 1) + ".jpg");
-            design.setOptimizedUrl("https://res.cloudinary.com/dbanspk1d/image/upload/f_auto,q_auto/v1/placeholder-design-" + (i + 1) + ".jpg");
+            String imageUrl = "https://res.cloudinary.com/dbanspk1d/image/upload/v1/placeholder-design-" + (i + 1) + ".jpg";
+            design.setImageUrl(imageUrl);
+            design.setThumbnailUrl(imageStorage.generateThumbnailUrl(imageUrl, 200, 200));
+            design.setOptimizedUrl(imageStorage.generateOptimizedUrl(imageUrl));
             design.setImageType("image/jpeg");
             
             // Set placeholder metadata
@@ -0,0 +1,57 @@
+package com.customizedtrends.app.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ImageUploadExecutorConfig {
+    private static final Logger logger = LoggerFactory.getLogger(ImageUploadExecutorConfig.class);
+
+    @Value("${app.image.upload.pool-size:8}")
+    private int poolSize;
+
+    @Value("${app.image.upload.queue-capacity:64}")
+    private int queueCapacity;
+
+    @Autowired
+    private Environment environment;
+
+    // Bounded pool for image uploads; when it is saturated the request thread uploads itself
+    // instead of queueing without limit. In virtual thread mode each upload gets its own virtual
+    // thread and pool-size becomes the limit on concurrent uploads.
+    @Bean(name = "imageUploadExecutor")
+    public AsyncTaskExecutor imageUploadExecutor() {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("image-upload-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(poolSize);
+            executor.setTaskTerminationTimeout(30_000);
+            return executor;
+        }
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            logger.warn("Virtual threads requested but Java {} does not support them; using platform thread pools",
+                Runtime.version().feature());
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("image-upload-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,10 +1,8 @@
 package com.customizedtrends.app.config;
 
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import org.springframework.beans.factory.annotation.Value;
+import com.customizedtrends.app.service.JwtService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -15,44 +13,29 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.List;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
-    
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private static final String BEARER_PREFIX = "Bearer ";
 
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    @Autowired
+    private JwtService jwtService;
+
+    // Tokens are verified once and then served from JwtService's cache, so public traffic carrying a token stays cheap
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String header = request.getHeader("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            String token = header.substring(7);
-            try {
-                Claims claims = Jwts.parser()
-                        .setSigningKey(jwtSecret)
-                        .parseClaimsJws(token)
-                        .getBody();
-                String userId = claims.getSubject();
-                String role = claims.get("role", String.class);
-                
-                if (userId != null) {
-                    List<SimpleGrantedAuthority> authorities = role != null ? 
-                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)) : 
-                        Collections.emptyList();
-                    
-                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        userId, null, authorities);
-                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(auth);
-                }
-            } catch (Exception e) {
-                // Log the exception for debugging but don't expose details
-                logger.debug("JWT token validation failed: " + e.getMessage());
-            }
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            jwtService.verify(header.substring(BEARER_PREFIX.length())).ifPresentOrElse(verified -> {
+                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                    verified.userId(), null, verified.authorities());
+                auth.setDetails(detailsSource.buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(auth);
+            }, () -> logger.debug("JWT token validation failed"));
         }
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,211 @@
+package com.customizedtrends.app.config;
+
+import com.customizedtrends.app.model.HomePageConfig;
+import com.customizedtrends.app.repository.HomePageConfigRepository;
+import com.customizedtrends.app.service.ImageProcessingService;
+import com.customizedtrends.app.service.ImageStorage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.stream.LongStream;
+
+// Synthetic catalog for the loadtest profile: real images in the local store, rows inserted in JDBC batches.
+// Runs before the search index and trending scores are built on ApplicationReadyEvent, so both include it,
+// and before DataInitializer, which then finds a catalog and skips its samples (their images are remote).
+@Component
+@Profile("loadtest")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class LoadTestDataSeeder implements CommandLineRunner {
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+    public static final String BRAND_PREFIX = "Load Brand ";
+    public static final String USER_PREFIX = "loadtest-user-";
+    // Names are built from these words so search traffic has something to match
+    public static final String[] STYLES = {"Classic", "Vintage", "Urban", "Retro", "Sport", "Summer", "Minimal", "Graphic"};
+    public static final String[] CUTS = {"Crew", "V-Neck", "Raglan", "Pocket", "Longline", "Boxy"};
+    private static final String[] GENDERS = {"Men", "Women", "Unisex"};
+    private static final int BRANDS = 8;
+    private static final int COLORS = 10;
+    private static final int BASE_IMAGES = 4;
+    private static final int BATCH_SIZE = 1000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private HomePageConfigRepository homePageConfigRepository;
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Value("${app.loadtest.seed.tshirts:5000}")
+    private int tshirts;
+
+    @Value("${app.loadtest.seed.designs:200}")
+    private int designs;
+
+    @Value("${app.loadtest.seed.designed-tshirts:20000}")
+    private int designedTshirts;
+
+    @Value("${app.loadtest.seed.users:50}")
+    private int users;
+
+    @Value("${app.loadtest.seed.password:loadtest123}")
+    private String password;
+
+    @Override
+    public void run(String... args) throws Exception {
+        long start = System.currentTimeMillis();
+        List<Long> brandIds = new ArrayList<>();
+        for (int i = 0; i < BRANDS; i++) {
+            jdbcTemplate.update("INSERT INTO brand (name) VALUES (?)", BRAND_PREFIX + i);
+            brandIds.add(jdbcTemplate.queryForObject("SELECT id FROM brand WHERE name = ?", Long.class, BRAND_PREFIX + i));
+        }
+        List<Long> colorIds = new ArrayList<>();
+        for (int i = 0; i < COLORS; i++) {
+            String name = "Load Color " + i;
+            jdbcTemplate.update("INSERT INTO color (name, hex_code) VALUES (?, ?)", name, String.format("#%06X", i * 0x191919));
+            colorIds.add(jdbcTemplate.queryForObject("SELECT id FROM color WHERE name = ?", Long.class, name));
+        }
+
+        // A few real images shared by all rows, so mockups and image requests hit the local store
+        List<String> tshirtImages = new ArrayList<>();
+        List<String> designImages = new ArrayList<>();
+        for (int i = 0; i < BASE_IMAGES; i++) {
+            tshirtImages.add(upload(tshirtImage(i), "tshirts"));
+            designImages.add(upload(designImage(i), "designs"));
+        }
+
+        LocalDateTime createdFrom = LocalDateTime.now().minusDays(365);
+        insertRows(tshirts,
+            "INSERT INTO tshirt (name, brand_id, color_id, gender, material, fit, price, stock, featured, tags, created_at, " +
+            "image_url, thumbnail_url, optimized_url) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            i -> {
+                String imageUrl = tshirtImages.get(i % BASE_IMAGES);
+                return new Object[] {productName(i, "Tee"), brandIds.get(i % BRANDS), colorIds.get(i % COLORS),
+                    GENDERS[i % GENDERS.length], "Cotton", "Regular", price(i), 1_000_000, i % 40 == 0,
+                    tags(i), Timestamp.valueOf(createdFrom.plusMinutes(i * 7L % 525_600)),
+                    imageUrl, imageStorage.generateThumbnailUrl(imageUrl, 200, 200), imageStorage.generateOptimizedUrl(imageUrl)};
+            });
+        insertRows(designs,
+            "INSERT INTO design (name, type, theme, tags, uploaded_by, date, description, image_url, thumbnail_url, " +
+            "optimized_url, image_type) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            i -> {
+                String imageUrl = designImages.get(i % BASE_IMAGES);
+                return new Object[] {productName(i, "Design"), STYLES[i % STYLES.length], CUTS[i % CUTS.length], tags(i),
+                    "loadtest", Date.valueOf(LocalDate.now()), "Synthetic design " + i, imageUrl,
+                    imageStorage.generateThumbnailUrl(imageUrl, 200, 200), imageStorage.generateOptimizedUrl(imageUrl), "image/png"};
+            });
+        Long firstDesign = jdbcTemplate.queryForObject("SELECT MIN(id) FROM design WHERE uploaded_by = 'loadtest'", Long.class);
+        insertRows(designedTshirts,
+            "INSERT INTO designed_tshirt (name, brand_id, color_id, design_id, gender, price, stock, featured, is_active, tags, " +
+            "design_zoom, design_positionx, design_positiony, created_at, image_url, thumbnail_url) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+            i -> {
+                String imageUrl = tshirtImages.get(i % BASE_IMAGES);
+                return new Object[] {productName(i, "Designed Tee"), brandIds.get(i % BRANDS), colorIds.get(i % COLORS),
+                    designs > 0 ? firstDesign + i % designs : null, GENDERS[i % GENDERS.length], price(i) + 10, 1_000_000,
+                    i % 40 == 0, i % 20 != 19, tags(i), 1.0, 50, 40,
+                    Timestamp.valueOf(createdFrom.plusMinutes(i * 11L % 525_600)),
+                    imageUrl, imageStorage.generateThumbnailUrl(imageUrl, 200, 200)};
+            });
+
+        // The home page is a 404 until an admin has configured it
+        Long firstDesignedTshirt = jdbcTemplate.queryForObject("SELECT MIN(id) FROM designed_tshirt", Long.class);
+        if (firstDesignedTshirt != null) {
+            HomePageConfig config = new HomePageConfig();
+            config.setHeroHeadline("Load test storefront");
+            config.setHeroImageUrl(designImages.get(0));
+            config.setFeaturedProductIds(LongStream.range(0, 8).map(i -> firstDesignedTshirt + i * 40).boxed().toList());
+            config.setProductOfTheWeekId(firstDesignedTshirt);
+            homePageConfigRepository.save(config);
+        }
+
+        // One hash for every account; hashing each would take minutes at BCrypt's cost
+        String hash = new BCryptPasswordEncoder().encode(password);
+        insertRows(users, "INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, 'USER')",
+            i -> new Object[] {USER_PREFIX + i, USER_PREFIX + i + "@example.com", hash});
+
+        logger.info("Seeded load test catalog: {} t-shirts, {} designs, {} designed t-shirts, {} users in {} ms",
+            tshirts, designs, designedTshirts, users, System.currentTimeMillis() - start);
+    }
+
+    private String upload(BufferedImage image, String folder) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return imageStorage.uploadImage(imageProcessingService.process(out.toByteArray(), "image/png"), folder);
+    }
+
+    private static BufferedImage tshirtImage(int variant) {
+        BufferedImage image = new BufferedImage(800, 800, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(java.awt.Color.WHITE);
+        g.fillRect(0, 0, 800, 800);
+        g.setColor(new java.awt.Color(40 + variant * 50, 60, 160 - variant * 30));
+        g.fillRect(220, 160, 360, 560);
+        g.fillPolygon(new int[] {220, 80, 150, 220}, new int[] {160, 300, 380, 300}, 4);
+        g.fillPolygon(new int[] {580, 720, 650, 580}, new int[] {160, 300, 380, 300}, 4);
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage designImage(int variant) {
+        BufferedImage image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        for (int i = 0; i < 12; i++) {
+            g.setColor(new java.awt.Color((i * 53 + variant * 97) % 256, (i * 29) % 256, (i * 71 + variant * 31) % 256, 200));
+            g.fillOval((i * 67 + variant * 13) % 300, (i * 41) % 300, 60 + i * 5, 60 + i * 5);
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static String productName(int i, String kind) {
+        return STYLES[i % STYLES.length] + " " + CUTS[i / STYLES.length % CUTS.length] + " " + kind + " " + i;
+    }
+
+    private static String tags(int i) {
+        return STYLES[i % STYLES.length].toLowerCase() + "," + CUTS[i % CUTS.length].toLowerCase();
+    }
+
+    private static double price(int i) {
+        return (1500 + i * 37 % 3000) / 100.0;
+    }
+
+    private void insertRows(int rows, String sql, IntFunction<Object[]> row) {
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(row.apply(i));
+            if (batch.size() == BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.customizedtrends.app.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.hibernate.SessionEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+// Statements and JDBC time per Hibernate session, recorded when the session closes. Open-in-view gives each request
+// one session, so these are per request and tagged with the matched route. Hibernate instantiates one per session
+// (hibernate.session.events.auto) outside of Spring, hence the global registry Boot adds its registry to.
+public class QueryMetricsListener implements SessionEventListener {
+    private int statements;
+    private long statementStart;
+    private long statementNanos;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        statements++;
+        statementNanos += System.nanoTime() - statementStart;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        statements++;
+        statementNanos += System.nanoTime() - statementStart;
+    }
+
+    @Override
+    public void end() {
+        String route = currentRoute();
+        if (route == null) {
+            // Startup, schedulers and the search indexer are not requests
+            return;
+        }
+        MeterRegistry registry = Metrics.globalRegistry;
+        DistributionSummary.builder("hibernate.request.statements")
+            .description("JDBC statements executed while serving one request")
+            .tag("uri", route)
+            .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100)
+            .register(registry)
+            .record(statements);
+        Timer.builder("hibernate.request.statement.time")
+            .description("Time spent executing JDBC statements while serving one request")
+            .tag("uri", route)
+            .publishPercentileHistogram()
+            .register(registry)
+            .record(statementNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String currentRoute() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Object pattern = attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
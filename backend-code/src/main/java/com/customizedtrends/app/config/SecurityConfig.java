@@ -38,7 +38,12 @@ public class SecurityConfig {
                 .requestMatchers("/api/brands/**").permitAll()
                 .requestMatchers("/api/colors/**").permitAll()
                 .requestMatchers("/api/designed-tshirts/**").permitAll()
+                .requestMatchers("/api/images/**").permitAll()
+                .requestMatchers("/api/home").permitAll()
                 .requestMatchers("/api/orders/**").hasRole("USER")
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                // Only served on management.server.port, which is not exposed publicly; scraped without a token
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
             )
             .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
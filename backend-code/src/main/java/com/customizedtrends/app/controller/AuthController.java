@@ -3,12 +3,16 @@ package com.customizedtrends.app.controller;
 import com.customizedtrends.app.model.User;
 import com.customizedtrends.app.service.UserService;
 import com.customizedtrends.app.service.JwtService;
+import com.customizedtrends.app.service.LoginThrottle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -28,6 +32,9 @@ public class AuthController {
     @Autowired
     private JwtService jwtService;
 
+    @Autowired
+    private LoginThrottle loginThrottle;
+
     public static class SignupRequest {
         @NotBlank(message = "Name is required")
         @Size(min = 2, max = 50, message = "Name must be between 2 and 50 characters")
@@ -70,11 +77,15 @@ public class AuthController {
             logger.info("Signup attempt for email: {}", request.getEmail());
             
             // Check if user already exists
-            Optional<User> existingUser = userService.findByNameOrEmail(request.getEmail());
-            if (existingUser.isPresent()) {
+            UserService.SignupConflict conflict = userService.findSignupConflict(request.getName(), request.getEmail());
+            if (conflict == UserService.SignupConflict.EMAIL) {
                 logger.warn("Signup failed: Email already exists: {}", request.getEmail());
                 return ResponseEntity.badRequest().body(Map.of("error", "Email already registered"));
             }
+            if (conflict == UserService.SignupConflict.NAME) {
+                logger.warn("Signup failed: Name already exists: {}", request.getName());
+                return ResponseEntity.badRequest().body(Map.of("error", "Name already taken"));
+            }
             
             User user = userService.registerUser(request.getName(), request.getEmail(), request.getPassword());
             logger.info("User registered successfully: {}", user.getEmail());
@@ -85,6 +96,8 @@ public class AuthController {
                 "name", user.getName(),
                 "email", user.getEmail()
             ));
+        } catch (TaskRejectedException e) {
+            return authBusy();
         } catch (Exception e) {
             logger.error("Signup error: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body(Map.of("error", "Registration failed"));
@@ -92,13 +105,22 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
         try {
             logger.info("Login attempt for: {}", request.getNameOrEmail());
+            // The client's address, resolved from X-Forwarded-For by server.forward-headers-strategy behind a proxy
+            String address = httpRequest.getRemoteAddr();
+            if (!loginThrottle.tryAcquire(request.getNameOrEmail(), address)) {
+                logger.warn("Login throttled for: {} from {}", request.getNameOrEmail(), address);
+                return ResponseEntity.status(429)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginThrottle.getWindow().toSeconds()))
+                    .body(Map.of("error", "Too many login attempts, please try again later"));
+            }
             
             Optional<User> userOpt = userService.findByNameOrEmail(request.getNameOrEmail());
             if (userOpt.isEmpty()) {
                 logger.warn("Login failed: User not found: {}", request.getNameOrEmail());
+                loginThrottle.recordFailure(request.getNameOrEmail(), address);
                 return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
             }
             
@@ -106,9 +128,11 @@ public class AuthController {
             boolean passwordMatch = userService.checkPassword(user, request.getPassword());
             if (!passwordMatch) {
                 logger.warn("Login failed: Invalid password for user: {}", request.getNameOrEmail());
+                loginThrottle.recordFailure(request.getNameOrEmail(), address);
                 return ResponseEntity.status(401).body(Map.of("error", "Invalid credentials"));
             }
             
+            loginThrottle.recordSuccess(request.getNameOrEmail(), address);
             String token = jwtService.generateToken(user.getId().toString(), user.getRole().toString());
             logger.info("Login successful for user: {} with role: {}", user.getEmail(), user.getRole());
             
@@ -119,6 +143,8 @@ public class AuthController {
                 "email", user.getEmail(),
                 "role", user.getRole().toString()
             ));
+        } catch (TaskRejectedException e) {
+            return authBusy();
         } catch (Exception e) {
             logger.error("Login error: {}", e.getMessage(), e);
             return ResponseEntity.status(500).body(Map.of("error", "Login failed"));
@@ -132,14 +158,12 @@ public class AuthController {
                 return ResponseEntity.status(401).body(Map.of("error", "Invalid authorization header"));
             }
             
-            String token = authHeader.substring(7);
-            String userId = jwtService.extractUsername(token);
-            
-            if (!jwtService.validateToken(token, userId)) {
+            Optional<JwtService.VerifiedToken> verified = jwtService.verify(authHeader.substring(7));
+            if (verified.isEmpty()) {
                 return ResponseEntity.status(401).body(Map.of("error", "Invalid or expired token"));
             }
             
-            Optional<User> userOpt = userService.findById(Long.parseLong(userId));
+            Optional<User> userOpt = userService.findById(Long.parseLong(verified.get().userId()));
             if (userOpt.isEmpty()) {
                 return ResponseEntity.status(404).body(Map.of("error", "User not found"));
             }
@@ -156,4 +180,12 @@ public class AuthController {
             return ResponseEntity.status(401).body(Map.of("error", "Invalid token"));
         }
     }
-} 
\ No newline at end of file
+
+    // The auth pool is saturated; only auth requests are turned away while catalog traffic keeps its threads
+    private ResponseEntity<?> authBusy() {
+        logger.warn("Auth pool saturated, rejecting request");
+        return ResponseEntity.status(503)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(Map.of("error", "Authentication is busy, please retry shortly"));
+    }
+}
@@ -1,8 +1,10 @@
 package com.customizedtrends.app.controller;
 
+import com.customizedtrends.app.httpcache.ResponseCache;
 import com.customizedtrends.app.model.Brand;
 import com.customizedtrends.app.service.BrandService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,9 +16,12 @@ public class BrandController {
     @Autowired
     private BrandService brandService;
 
+    @Autowired
+    private ResponseCache responseCache;
+
     @GetMapping
-    public List<Brand> getAllBrands() {
-        return brandService.getAllBrands();
+    public ResponseEntity<byte[]> getAllBrands(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("brands", "catalog", ifNoneMatch, brandService::getAllBrands, Brand.class);
     }
 
     @GetMapping("/{id}")
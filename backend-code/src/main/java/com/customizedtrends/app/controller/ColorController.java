@@ -1,8 +1,10 @@
 package com.customizedtrends.app.controller;
 
+import com.customizedtrends.app.httpcache.ResponseCache;
 import com.customizedtrends.app.model.Color;
 import com.customizedtrends.app.service.ColorService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,9 +16,12 @@ public class ColorController {
     @Autowired
     private ColorService colorService;
 
+    @Autowired
+    private ResponseCache responseCache;
+
     @GetMapping
-    public List<Color> getAllColors() {
-        return colorService.getAllColors();
+    public ResponseEntity<byte[]> getAllColors(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("colors", "catalog", ifNoneMatch, colorService::getAllColors, Color.class);
     }
 
     @GetMapping("/{id}")
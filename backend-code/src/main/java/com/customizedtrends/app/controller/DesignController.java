@@ -1,21 +1,36 @@
 package com.customizedtrends.app.controller;
 
+import com.customizedtrends.app.httpcache.ResponseCache;
 import com.customizedtrends.app.model.Design;
 import com.customizedtrends.app.model.DesignedTshirt;
 import com.customizedtrends.app.model.OrderItem;
+import com.customizedtrends.app.model.Tshirt;
 import com.customizedtrends.app.service.DesignService;
-import com.customizedtrends.app.service.CloudinaryService;
+import com.customizedtrends.app.service.DesignTaxonomyService;
+import com.customizedtrends.app.service.ImageStorage;
+import com.customizedtrends.app.service.ImageProcessingService;
+import com.customizedtrends.app.dto.ProcessedImage;
+import com.customizedtrends.app.dto.RenderedMockup;
+import com.customizedtrends.app.service.MockupService;
+import com.customizedtrends.app.service.TshirtService;
 import com.customizedtrends.app.repository.DesignedTshirtRepository;
 import com.customizedtrends.app.repository.OrderItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/designs")
@@ -25,8 +40,23 @@ public class DesignController {
     private DesignService designService;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
     
+    @Autowired
+    private TshirtService tshirtService;
+
+    @Autowired
+    private MockupService mockupService;
+
+    @Autowired
+    private DesignTaxonomyService designTaxonomyService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
     @Autowired
     private DesignedTshirtRepository designedTshirtRepository;
     
@@ -39,10 +69,8 @@ public class DesignController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Design> getDesignById(@PathVariable Long id) {
-        return designService.getDesignById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getDesignById(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("designs/" + id, "product", ifNoneMatch, () -> designService.getDesignById(id), Design.class);
     }
 
     @PostMapping
@@ -91,28 +119,31 @@ public class DesignController {
             @RequestParam("description") String description,
             @RequestParam(value = "image", required = false) MultipartFile image
     ) throws IOException {
-        return designService.getDesignById(id).map(design -> {
-            design.setName(name);
-            design.setType(type);
-            design.setTheme(theme);
-            design.setTags(tags);
-            design.setUploadedBy(uploadedBy);
-            design.setDate(java.time.LocalDate.parse(date));
-            design.setDescription(description);
+        // A fresh entity: the one getDesignById returns is shared through the cache with concurrent readers
+        return designService.getDesignForUpdate(id).map(design -> {
+            java.time.LocalDate parsedDate = java.time.LocalDate.parse(date);
             if (image != null && !image.isEmpty()) {
                 try {
-                    String imageUrl = cloudinaryService.uploadImage(image, "designs");
-                    String thumbnailUrl = cloudinaryService.generateThumbnailUrl(imageUrl, 200, 200);
-                    String optimizedUrl = cloudinaryService.generateOptimizedUrl(imageUrl);
+                    ProcessedImage processedImage = imageProcessingService.process(image);
+                    String imageUrl = imageStorage.uploadImage(processedImage, "designs");
+                    String thumbnailUrl = imageStorage.generateThumbnailUrl(imageUrl, 200, 200);
+                    String optimizedUrl = imageStorage.generateOptimizedUrl(imageUrl);
                     
                     design.setImageUrl(imageUrl);
                     design.setThumbnailUrl(thumbnailUrl);
                     design.setOptimizedUrl(optimizedUrl);
-                    design.setImageType(image.getContentType());
+                    processedImage.applyTo(design);
                 } catch (IOException e) {
                     return ResponseEntity.badRequest().body("Failed to upload image: " + e.getMessage());
                 }
             }
+            design.setName(name);
+            design.setType(type);
+            design.setTheme(theme);
+            design.setTags(tags);
+            design.setUploadedBy(uploadedBy);
+            design.setDate(parsedDate);
+            design.setDescription(description);
             designService.createDesign(design); // save
             return ResponseEntity.ok(design);
         }).orElse(ResponseEntity.notFound().build());
@@ -142,14 +173,15 @@ public class DesignController {
             design.setDate(java.time.LocalDate.parse(date));
             design.setDescription(description);
             
-            String imageUrl = cloudinaryService.uploadImage(image, "designs");
-            String thumbnailUrl = cloudinaryService.generateThumbnailUrl(imageUrl, 200, 200);
-            String optimizedUrl = cloudinaryService.generateOptimizedUrl(imageUrl);
+            ProcessedImage processedImage = imageProcessingService.process(image);
+            String imageUrl = imageStorage.uploadImage(processedImage, "designs");
+            String thumbnailUrl = imageStorage.generateThumbnailUrl(imageUrl, 200, 200);
+            String optimizedUrl = imageStorage.generateOptimizedUrl(imageUrl);
             
             design.setImageUrl(imageUrl);
             design.setThumbnailUrl(thumbnailUrl);
             design.setOptimizedUrl(optimizedUrl);
-            design.setImageType(image.getContentType());
+            processedImage.applyTo(design);
             
             designService.createDesign(design);
             return ResponseEntity.ok(design);
@@ -160,20 +192,58 @@ public class DesignController {
 
     @GetMapping("/types")
     public List<String> getDesignTypes() {
-        return designService.getAllDesigns().stream()
-                .map(Design::getType)
-                .filter(type -> type != null && !type.isEmpty())
-                .distinct()
-                .toList();
+        return designTaxonomyService.getTypes();
     }
 
     @GetMapping("/themes")
     public List<String> getDesignThemes() {
-        return designService.getAllDesigns().stream()
-                .map(Design::getTheme)
-                .filter(theme -> theme != null && !theme.isEmpty())
-                .distinct()
-                .toList();
+        return designTaxonomyService.getThemes();
+    }
+
+    // Types, themes and tags with usage counts for the gallery sidebar, in one call
+    @GetMapping("/facets")
+    public Map<String, Object> getDesignFacets() {
+        return designTaxonomyService.getFacets();
+    }
+
+    // Render this design onto a base t-shirt with the customizer's zoom and position
+    @GetMapping("/{id}/mockup")
+    public ResponseEntity<?> getMockup(
+            @PathVariable Long id,
+            @RequestParam Long tshirtId,
+            @RequestParam(required = false) Double zoom,
+            @RequestParam(required = false) Double x,
+            @RequestParam(required = false) Double y,
+            @RequestParam(required = false) Double tshirtZoom,
+            @RequestParam(defaultValue = "400") int size,
+            @RequestParam(defaultValue = "jpeg") String format,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<Design> design = designService.getDesignById(id);
+        Optional<Tshirt> tshirt = tshirtService.getTshirtById(tshirtId);
+        if (design.isEmpty() || tshirt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        try {
+            return mockupService.renderDesignOnTshirt(tshirt.get(), design.get(), zoom, x, y, tshirtZoom, size, format)
+                    .map(mockup -> mockupResponse(mockup, ifNoneMatch))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(java.util.Map.of("error", "Failed to render mockup: " + e.getMessage()));
+        }
+    }
+
+    // Shared with DesignedTshirtController; the etag is the content address so it only changes with the pixels
+    static ResponseEntity<byte[]> mockupResponse(RenderedMockup mockup, String ifNoneMatch) {
+        String etag = "\"" + mockup.getEtag() + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofDays(1)).cachePublic();
+        if (etag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(mockup.getContentType()))
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .body(mockup.getData());
     }
 
     @GetMapping("/{id}/can-delete")
@@ -6,12 +6,18 @@ import com.customizedtrends.app.model.Brand;
 import com.customizedtrends.app.model.Color;
 import com.customizedtrends.app.model.Design;
 import com.customizedtrends.app.dto.DesignedTshirtSaveDTO;
+import com.customizedtrends.app.dto.DesignedTshirtFilter;
+import com.customizedtrends.app.dto.ProcessedImage;
+import com.customizedtrends.app.httpcache.ResponseCache;
+import com.customizedtrends.app.service.BrandService;
+import com.customizedtrends.app.service.ColorService;
+import com.customizedtrends.app.service.DesignService;
 import com.customizedtrends.app.service.DesignedTshirtService;
-import com.customizedtrends.app.repository.BrandRepository;
-import com.customizedtrends.app.repository.ColorRepository;
-import com.customizedtrends.app.repository.DesignRepository;
 import com.customizedtrends.app.repository.DesignedTshirtRepository;
-import com.customizedtrends.app.service.CloudinaryService;
+import com.customizedtrends.app.service.ImageStorage;
+import com.customizedtrends.app.service.ImageProcessingService;
+import com.customizedtrends.app.service.MockupService;
+import com.customizedtrends.app.service.TrendingService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -40,13 +46,13 @@ public class DesignedTshirtController {
     private DesignedTshirtService designedTshirtService;
 
     @Autowired
-    private BrandRepository brandRepository;
+    private BrandService brandService;
 
     @Autowired
-    private ColorRepository colorRepository;
+    private ColorService colorService;
 
     @Autowired
-    private DesignRepository designRepository;
+    private DesignService designService;
 
     @Autowired
     private DesignedTshirtRepository designedTshirtRepository;
@@ -55,7 +61,19 @@ public class DesignedTshirtController {
     private ObjectMapper objectMapper;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Autowired
+    private MockupService mockupService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private ResponseCache responseCache;
 
     @PostConstruct
     public void configureObjectMapper() {
@@ -79,10 +97,10 @@ public class DesignedTshirtController {
             designedTshirt.setName(name);
             designedTshirt.setGender(gender);
             // Set brand by name
-            Brand brand = brandRepository.findByName(brandName).orElse(null);
+            Brand brand = brandService.findBrandByName(brandName).orElse(null);
             if (brand != null) designedTshirt.setBrand(brand);
             // Set color by name
-            Color color = colorRepository.findByName(colorName).orElse(null);
+            Color color = colorService.findColorByName(colorName).orElse(null);
             if (color != null) designedTshirt.setColor(color);
             // Set size (if your model supports it)
             designedTshirt.setSizes(List.of(size));
@@ -90,21 +108,23 @@ public class DesignedTshirtController {
             if (designId != null && !designId.isEmpty()) {
                 try {
                     Long dId = Long.parseLong(designId);
-                    Design design = designRepository.findById(dId).orElse(null);
+                    Design design = designService.getDesignById(dId).orElse(null);
                     if (design != null) designedTshirt.setDesign(design);
                 } catch (NumberFormatException ignored) {}
             }
-            // Handle image upload to Cloudinary
+            // Handle image upload to the configured image storage
             String imageUrl = null;
             String thumbnailUrl = null;
             String optimizedUrl = null;
+            ProcessedImage processedImage = null;
             if (imageFile != null && !imageFile.isEmpty()) {
-                imageUrl = cloudinaryService.uploadImage(imageFile, "designed-tshirts");
-                thumbnailUrl = cloudinaryService.generateThumbnailUrl(imageUrl, 200, 200);
-                optimizedUrl = cloudinaryService.generateOptimizedUrl(imageUrl);
+                processedImage = imageProcessingService.process(imageFile);
+                imageUrl = imageStorage.uploadImage(processedImage, "designed-tshirts");
+                thumbnailUrl = imageStorage.generateThumbnailUrl(imageUrl, 200, 200);
+                optimizedUrl = imageStorage.generateOptimizedUrl(imageUrl);
             }
             DesignedTshirt savedDesignedTshirt = designedTshirtService.createDesignedTshirt(
-                designedTshirt, imageUrl, thumbnailUrl, optimizedUrl, null);
+                designedTshirt, imageUrl, thumbnailUrl, optimizedUrl, processedImage, null);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedDesignedTshirt);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error creating designed t-shirt: " + e.getMessage());
@@ -118,102 +138,48 @@ public class DesignedTshirtController {
         return ResponseEntity.ok(designedTshirts);
     }
 
-    // Get all active designed t-shirts with pagination
+    // Get all active designed t-shirts with pagination; view=card returns lightweight ProductCard rows
     @GetMapping("/page")
-    public ResponseEntity<Page<DesignedTshirt>> getDesignedTshirtsWithPagination(
+    public ResponseEntity<Page<?>> getDesignedTshirtsWithPagination(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "") String search,
             @RequestParam(defaultValue = "") String brand,
             @RequestParam(defaultValue = "") String color,
-            @RequestParam(defaultValue = "") String gender) {
+            @RequestParam(defaultValue = "") String gender,
+            @RequestParam(required = false) Long designId,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean featured,
+            @RequestParam(required = false) List<String> sizes,
+            @RequestParam(defaultValue = "full") String view) {
         
         Pageable pageable = PageRequest.of(page, size);
+        boolean cardView = "card".equalsIgnoreCase(view);
         
         Page<DesignedTshirt> designedTshirts;
         
         if (!search.isEmpty()) {
             // If search is provided, use search method
+            if (cardView) {
+                return ResponseEntity.ok(designedTshirtService.searchDesignedTshirtCards(search, pageable));
+            }
             designedTshirts = designedTshirtService.searchDesignedTshirts(search, pageable);
-        } else if (!brand.isEmpty() && !color.isEmpty() && !gender.isEmpty()) {
-            // If brand, color, and gender are provided
-            List<DesignedTshirt> filteredList = designedTshirtService.getDesignedTshirtsByBrandAndColor(brand, color);
-            // Filter by gender as well
-            filteredList = filteredList.stream()
-                .filter(dt -> dt.getGender() != null && dt.getGender().equals(gender))
-                .toList();
-            designedTshirts = new org.springframework.data.domain.PageImpl<>(
-                filteredList.subList(Math.min(page * size, filteredList.size()), 
-                                   Math.min((page + 1) * size, filteredList.size())),
-                pageable,
-                filteredList.size()
-            );
-        } else if (!brand.isEmpty() && !color.isEmpty()) {
-            // If both brand and color are provided
-            List<DesignedTshirt> filteredList = designedTshirtService.getDesignedTshirtsByBrandAndColor(brand, color);
-            // Convert List to Page manually (this is a simplified approach)
-            designedTshirts = new org.springframework.data.domain.PageImpl<>(
-                filteredList.subList(Math.min(page * size, filteredList.size()), 
-                                   Math.min((page + 1) * size, filteredList.size())),
-                pageable,
-                filteredList.size()
-            );
-        } else if (!brand.isEmpty() && !gender.isEmpty()) {
-            // If brand and gender are provided
-            List<DesignedTshirt> filteredList = designedTshirtService.getDesignedTshirtsByBrand(brand);
-            // Filter by gender as well
-            filteredList = filteredList.stream()
-                .filter(dt -> dt.getGender() != null && dt.getGender().equals(gender))
-                .toList();
-            designedTshirts = new org.springframework.data.domain.PageImpl<>(
-                filteredList.subList(Math.min(page * size, filteredList.size()), 
-                                   Math.min((page + 1) * size, filteredList.size())),
-                pageable,
-                filteredList.size()
-            );
-        } else if (!color.isEmpty() && !gender.isEmpty()) {
-            // If color and gender are provided
-            List<DesignedTshirt> filteredList = designedTshirtService.getDesignedTshirtsByColor(color);
-            // Filter by gender as well
-            filteredList = filteredList.stream()
-                .filter(dt -> dt.getGender() != null && dt.getGender().equals(gender))
-                .toList();
-            designedTshirts = new org.springframework.data.domain.PageImpl<>(
-                filteredList.subList(Math.min(page * size, filteredList.size()), 
-                                   Math.min((page + 1) * size, filteredList.size())),
-                pageable,
-                filteredList.size()
-            );
-        } else if (!brand.isEmpty()) {
-            // If only brand is provided
-            List<DesignedTshirt> filteredList = designedTshirtService.getDesignedTshirtsByBrand(brand);
-            designedTshirts = new org.springframework.data.domain.PageImpl<>(
-                filteredList.subList(Math.min(page * size, filteredList.size()), 
-                                   Math.min((page + 1) * size, filteredList.size())),
-                pageable,
-                filteredList.size()
-            );
-        } else if (!color.isEmpty()) {
-            // If only color is provided
-            List<DesignedTshirt> filteredList = designedTshirtService.getDesignedTshirtsByColor(color);
-            designedTshirts = new org.springframework.data.domain.PageImpl<>(
-                filteredList.subList(Math.min(page * size, filteredList.size()), 
-                                   Math.min((page + 1) * size, filteredList.size())),
-                pageable,
-                filteredList.size()
-            );
-        } else if (!gender.isEmpty()) {
-            // If only gender is provided
-            List<DesignedTshirt> filteredList = designedTshirtService.getDesignedTshirtsByGender(gender);
-            designedTshirts = new org.springframework.data.domain.PageImpl<>(
-                filteredList.subList(Math.min(page * size, filteredList.size()), 
-                                   Math.min((page + 1) * size, filteredList.size())),
-                pageable,
-                filteredList.size()
-            );
         } else {
-            // No filters, get all active
-            designedTshirts = designedTshirtService.getAllActiveDesignedTshirts(pageable);
+            // Any combination of filters is resolved by a single paged query
+            DesignedTshirtFilter filter = new DesignedTshirtFilter();
+            filter.setBrand(brand);
+            filter.setColor(color);
+            filter.setGender(gender);
+            filter.setDesignId(designId);
+            filter.setMinPrice(minPrice);
+            filter.setMaxPrice(maxPrice);
+            filter.setFeatured(featured);
+            filter.setSizes(sizes);
+            if (cardView) {
+                return ResponseEntity.ok(designedTshirtService.filterDesignedTshirtCards(filter, pageable));
+            }
+            designedTshirts = designedTshirtService.filterDesignedTshirts(filter, pageable);
         }
         
         // Patch: ensure every DesignedTshirt has images array
@@ -237,26 +203,57 @@ public class DesignedTshirtController {
 
     // Get designed t-shirt by ID
     @GetMapping("/{id}")
-    public ResponseEntity<?> getDesignedTshirtById(@PathVariable Long id) {
-        Optional<DesignedTshirt> designedTshirt = designedTshirtService.getDesignedTshirtById(id);
-        if (designedTshirt.isPresent()) {
-            DesignedTshirt dt = designedTshirt.get();
-            if (dt.getImages() == null || dt.getImages().isEmpty()) {
-                if (dt.getImageUrl() != null && !dt.getImageUrl().isEmpty()) {
-                    DesignedTshirtImage virtualImg = new DesignedTshirtImage();
-                    virtualImg.setImageUrl(dt.getImageUrl());
-                    virtualImg.setIsMain(true);
-                    ArrayList<DesignedTshirtImage> imgs = new ArrayList<>();
-                    imgs.add(virtualImg);
-                    dt.setImages(imgs);
-                } else {
-                    dt.setImages(new ArrayList<>());
-                }
+    public ResponseEntity<byte[]> getDesignedTshirtById(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ResponseEntity<byte[]> response = responseCache.get("designed-tshirts/" + id, "product", ifNoneMatch,
+                () -> designedTshirtService.getDesignedTshirtById(id).map(this::withDisplayImages),
+                DesignedTshirt.class, DesignedTshirtImage.class, Design.class, Brand.class, Color.class);
+        if (response.getStatusCode() != HttpStatus.NOT_FOUND) {
+            trendingService.recordDesignedTshirtView(id);
+        }
+        return response;
+    }
+
+    // Older products only have the single imageUrl; expose it as the main image so the gallery has something to show
+    private DesignedTshirt withDisplayImages(DesignedTshirt dt) {
+        if (dt.getImages() == null || dt.getImages().isEmpty()) {
+            if (dt.getImageUrl() != null && !dt.getImageUrl().isEmpty()) {
+                DesignedTshirtImage virtualImg = new DesignedTshirtImage();
+                virtualImg.setImageUrl(dt.getImageUrl());
+                virtualImg.setIsMain(true);
+                ArrayList<DesignedTshirtImage> imgs = new ArrayList<>();
+                imgs.add(virtualImg);
+                dt.setImages(imgs);
+            } else {
+                dt.setImages(new ArrayList<>());
             }
-            return ResponseEntity.ok(dt);
-        } else {
+        }
+        return dt;
+    }
+
+    // Server-rendered preview of the design on the matching base t-shirt
+    @GetMapping("/{id}/mockup")
+    public ResponseEntity<?> getMockup(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "400") int size,
+            @RequestParam(defaultValue = "jpeg") String format,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<DesignedTshirt> designedTshirt = designedTshirtService.getDesignedTshirtById(id);
+        if (designedTshirt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
+        try {
+            return mockupService.renderDesignedTshirt(designedTshirt.get(), size, format)
+                    .map(mockup -> DesignController.mockupResponse(mockup, ifNoneMatch))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(java.util.Map.of("error", "Failed to render mockup: " + e.getMessage()));
+        }
+    }
+
+    // Most viewed designed t-shirts, recency-weighted
+    @GetMapping("/trending")
+    public ResponseEntity<List<DesignedTshirt>> getTrendingDesignedTshirts(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(trendingService.getTrendingDesignedTshirts(Math.min(Math.max(limit, 1), 50)));
     }
 
     // Get featured designed t-shirts
@@ -303,7 +300,7 @@ public class DesignedTshirtController {
             
             // Set brand
             if (dto.getBrandId() != null) {
-                Optional<Brand> brand = brandRepository.findById(dto.getBrandId());
+                Optional<Brand> brand = brandService.getBrandById(dto.getBrandId());
                 if (brand.isPresent()) {
                     updatedDesignedTshirt.setBrand(brand.get());
                 } else {
@@ -313,7 +310,7 @@ public class DesignedTshirtController {
             
             // Set color
             if (dto.getColorId() != null) {
-                Optional<Color> color = colorRepository.findById(dto.getColorId());
+                Optional<Color> color = colorService.getColorById(dto.getColorId());
                 if (color.isPresent()) {
                     updatedDesignedTshirt.setColor(color.get());
                 } else {
@@ -323,7 +320,7 @@ public class DesignedTshirtController {
             
             // Set design (if using gallery design)
             if (dto.getDesignId() != null) {
-                Optional<Design> design = designRepository.findById(dto.getDesignId());
+                Optional<Design> design = designService.getDesignById(dto.getDesignId());
                 design.ifPresent(updatedDesignedTshirt::setDesign);
             }
             
@@ -347,19 +344,21 @@ public class DesignedTshirtController {
             updatedDesignedTshirt.setDesignPositionY(dto.getDesignPositionY());
             updatedDesignedTshirt.setTshirtZoom(dto.getTshirtZoom());
             
-            // Handle image upload to Cloudinary
+            // Handle image upload to the configured image storage
             String imageUrl = null;
             String thumbnailUrl = null;
             String optimizedUrl = null;
+            ProcessedImage processedImage = null;
             
             if (imageFile != null && !imageFile.isEmpty()) {
-                imageUrl = cloudinaryService.uploadImage(imageFile, "designed-tshirts");
-                thumbnailUrl = cloudinaryService.generateThumbnailUrl(imageUrl, 200, 200);
-                optimizedUrl = cloudinaryService.generateOptimizedUrl(imageUrl);
+                processedImage = imageProcessingService.process(imageFile);
+                imageUrl = imageStorage.uploadImage(processedImage, "designed-tshirts");
+                thumbnailUrl = imageStorage.generateThumbnailUrl(imageUrl, 200, 200);
+                optimizedUrl = imageStorage.generateOptimizedUrl(imageUrl);
             }
             
             System.out.println("[UPDATE] Calling service to update designed t-shirt");
-            DesignedTshirt savedDesignedTshirt = designedTshirtService.updateDesignedTshirt(id, updatedDesignedTshirt, imageUrl, thumbnailUrl, optimizedUrl);
+            DesignedTshirt savedDesignedTshirt = designedTshirtService.updateDesignedTshirt(id, updatedDesignedTshirt, imageUrl, thumbnailUrl, optimizedUrl, processedImage);
             System.out.println("[UPDATE] Successfully updated designed t-shirt: " + savedDesignedTshirt.getId());
             
             return ResponseEntity.ok(savedDesignedTshirt);
@@ -0,0 +1,33 @@
+package com.customizedtrends.app.controller;
+
+import com.customizedtrends.app.httpcache.ResponseCache;
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.DesignedTshirt;
+import com.customizedtrends.app.model.DesignedTshirtImage;
+import com.customizedtrends.app.model.HomePageConfig;
+import com.customizedtrends.app.service.HomePageService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/home")
+public class HomeController {
+    @Autowired
+    private HomePageService homePageService;
+
+    @Autowired
+    private ResponseCache responseCache;
+
+    // Served as pre-serialized bytes; rebuilt only after the config or one of the product tables changes
+    @GetMapping
+    public ResponseEntity<byte[]> getHomePage(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("home", "home", ifNoneMatch, homePageService::buildHomePage,
+                HomePageConfig.class, DesignedTshirt.class, DesignedTshirtImage.class, Brand.class, Color.class);
+    }
+}
@@ -1,8 +1,11 @@
 package com.customizedtrends.app.controller;
 
+import com.customizedtrends.app.httpcache.ResponseCache;
 import com.customizedtrends.app.model.HomePageConfig;
 import com.customizedtrends.app.repository.HomePageConfigRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.Optional;
 
@@ -12,9 +15,13 @@ public class HomePageConfigController {
     @Autowired
     private HomePageConfigRepository repo;
 
+    @Autowired
+    private ResponseCache responseCache;
+
     @GetMapping
-    public HomePageConfig getConfig() {
-        return repo.findAll().stream().findFirst().orElse(null);
+    public ResponseEntity<byte[]> getConfig(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("home-config", "home", ifNoneMatch,
+                () -> repo.findAll().stream().findFirst(), HomePageConfig.class);
     }
 
     @PostMapping
@@ -1,5 +1,6 @@
 package com.customizedtrends.app.controller;
 
+import com.customizedtrends.app.dto.CheckoutRequest;
 import com.customizedtrends.app.model.Order;
 import com.customizedtrends.app.model.User;
 import com.customizedtrends.app.service.OrderService;
@@ -8,9 +9,11 @@ import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -63,9 +66,14 @@ public class OrderController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // The order belongs to the authenticated user; prices and stock come from the catalog, not the payload
     @PostMapping
-    public Order createOrder(@RequestBody Order order) {
-        return orderService.createOrder(order);
+    public ResponseEntity<?> createOrder(@RequestBody CheckoutRequest request, Authentication authentication) {
+        try {
+            return ResponseEntity.ok(orderService.checkout(Long.parseLong(authentication.getName()), request));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @PutMapping("/{id}")
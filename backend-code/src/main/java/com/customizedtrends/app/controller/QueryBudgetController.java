@@ -0,0 +1,32 @@
+package com.customizedtrends.app.controller;
+
+import com.customizedtrends.app.querybudget.QueryBudgetMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// Routes with the most statements or database time per request, for finding N+1 loading (ADMIN only)
+@RestController
+@RequestMapping("/api/admin/query-budget")
+public class QueryBudgetController {
+    @Autowired
+    private QueryBudgetMonitor monitor;
+
+    @GetMapping
+    public ResponseEntity<?> topOffenders(@RequestParam(defaultValue = "statements") String sortBy,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(monitor.topOffenders(sortBy, Math.max(limit, 1)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> reset() {
+        monitor.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
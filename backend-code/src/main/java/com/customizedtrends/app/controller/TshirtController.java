@@ -3,15 +3,20 @@ package com.customizedtrends.app.controller;
 import com.customizedtrends.app.model.Brand;
 import com.customizedtrends.app.model.Color;
 import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.model.TshirtImage;
 import com.customizedtrends.app.dto.TshirtUploadDTO;
+import com.customizedtrends.app.httpcache.ResponseCache;
+import com.customizedtrends.app.paging.CatalogSort;
 import com.customizedtrends.app.service.BrandService;
 import com.customizedtrends.app.service.ColorService;
+import com.customizedtrends.app.service.TrendingService;
 import com.customizedtrends.app.service.TshirtService;
-import com.customizedtrends.app.service.CloudinaryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -28,6 +33,8 @@ import java.util.Optional;
 @RestController
 @RequestMapping("/api/tshirts")
 public class TshirtController {
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     @Autowired
     private TshirtService tshirtService;
 
@@ -36,9 +43,12 @@ public class TshirtController {
 
     @Autowired
     private ColorService colorService;
-    
+
+    @Autowired
+    private TrendingService trendingService;
+
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private ResponseCache responseCache;
 
     @GetMapping
     public Page<Tshirt> getAllTshirts(Pageable pageable) {
@@ -46,10 +56,13 @@ public class TshirtController {
     }
 
     @GetMapping("/id/{id}")
-    public ResponseEntity<Tshirt> getTshirtById(@PathVariable Long id) {
-        return tshirtService.getTshirtById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getTshirtById(@PathVariable Long id, @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        ResponseEntity<byte[]> response = responseCache.get("tshirts/" + id, "product", ifNoneMatch,
+                () -> tshirtService.getTshirtById(id), Tshirt.class, TshirtImage.class, Brand.class, Color.class);
+        if (response.getStatusCode() != HttpStatus.NOT_FOUND) {
+            trendingService.recordTshirtView(id);
+        }
+        return response;
     }
 
     @PostMapping
@@ -117,33 +130,33 @@ public ResponseEntity<?> uploadTshirt(
 }
 
     @GetMapping("/sizes")
-    public List<String> getSizes() {
-        return List.of("XS", "S", "M", "L", "XL", "XXL", "XXXL");
+    public ResponseEntity<byte[]> getSizes(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("tshirts/sizes", "reference", ifNoneMatch, () -> List.of("XS", "S", "M", "L", "XL", "XXL", "XXXL"));
     }
 
     @GetMapping("/genders")
-    public List<String> getGenders() {
-        return List.of("Men", "Women", "Unisex", "Kids");
+    public ResponseEntity<byte[]> getGenders(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("tshirts/genders", "reference", ifNoneMatch, () -> List.of("Men", "Women", "Unisex", "Kids"));
     }
 
     @GetMapping("/materials")
-    public List<String> getMaterials() {
-        return List.of("Cotton", "Polyester", "Blend", "Organic Cotton", "Bamboo");
+    public ResponseEntity<byte[]> getMaterials(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("tshirts/materials", "reference", ifNoneMatch, () -> List.of("Cotton", "Polyester", "Blend", "Organic Cotton", "Bamboo"));
     }
 
     @GetMapping("/fits")
-    public List<String> getFits() {
-        return List.of("Regular", "Slim", "Oversized", "Relaxed", "Athletic");
+    public ResponseEntity<byte[]> getFits(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("tshirts/fits", "reference", ifNoneMatch, () -> List.of("Regular", "Slim", "Oversized", "Relaxed", "Athletic"));
     }
 
     @GetMapping("/sleeveTypes")
-    public List<String> getSleeveTypes() {
-        return List.of("Short Sleeve", "Long Sleeve", "Sleeveless", "3/4 Sleeve");
+    public ResponseEntity<byte[]> getSleeveTypes(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("tshirts/sleeveTypes", "reference", ifNoneMatch, () -> List.of("Short Sleeve", "Long Sleeve", "Sleeveless", "3/4 Sleeve"));
     }
 
     @GetMapping("/neckTypes")
-    public List<String> getNeckTypes() {
-        return List.of("Round Neck", "V-Neck", "Crew Neck", "Hooded", "Turtle Neck");
+    public ResponseEntity<byte[]> getNeckTypes(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return responseCache.get("tshirts/neckTypes", "reference", ifNoneMatch, () -> List.of("Round Neck", "V-Neck", "Crew Neck", "Hooded", "Turtle Neck"));
     }
 
     @GetMapping("/preview")
@@ -172,16 +185,15 @@ public ResponseEntity<?> uploadTshirt(
     }
 
     @GetMapping("/trending")
-    public List<Tshirt> getTrendingTshirts() {
-        // Return featured t-shirts as trending
-        return tshirtService.getAllTshirts().stream()
-                .filter(Tshirt::getFeatured)
-                .limit(10)
-                .toList();
+    public List<Tshirt> getTrendingTshirts(@RequestParam(defaultValue = "10") int limit) {
+        return trendingService.getTrendingTshirts(Math.min(Math.max(limit, 1), 50));
     }
 
+    // view=card returns lightweight ProductCard rows for grids; view=full (default) returns entities.
+    // Passing cursor (empty for the first page) switches to keyset pages, which stay fast at any depth;
+    // search results are ranked by relevance and only page by offset.
     @GetMapping("/page")
-    public ResponseEntity<Page<Tshirt>> getTshirtsWithPagination(
+    public ResponseEntity<?> getTshirtsWithPagination(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "") String search,
@@ -189,11 +201,31 @@ public ResponseEntity<?> uploadTshirt(
             @RequestParam(defaultValue = "") String color,
             @RequestParam(defaultValue = "") String gender,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
-        
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Tshirt> tshirts = tshirtService.getTshirtsWithFilters(search, brand, color, gender, pageable);
-        return ResponseEntity.ok(tshirts);
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestParam(required = false) String cursor) {
+        try {
+            CatalogSort sort = CatalogSort.fromParam(sortBy);
+            Sort.Direction direction = CatalogSort.directionFromParam(sortOrder);
+            boolean cards = "card".equalsIgnoreCase(view);
+            if (cursor != null) {
+                if (!search.isEmpty()) {
+                    return ResponseEntity.badRequest().body(Map.of("error", "Cursor pagination is not supported for search"));
+                }
+                int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+                return ResponseEntity.ok(cards
+                        ? tshirtService.getTshirtCardsAfter(brand, color, gender, sort, direction, cursor, limit)
+                        : tshirtService.getTshirtsAfter(brand, color, gender, sort, direction, cursor, limit));
+            }
+
+            Pageable pageable = PageRequest.of(page, size, sort.toSort(direction));
+            if (cards) {
+                return ResponseEntity.ok(tshirtService.getTshirtCardsWithFilters(search, brand, color, gender, pageable));
+            }
+            return ResponseEntity.ok(tshirtService.getTshirtsWithFilters(search, brand, color, gender, pageable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/search")
@@ -208,18 +240,27 @@ public ResponseEntity<?> uploadTshirt(
     }
 
     @GetMapping("/filter")
-    public ResponseEntity<Page<Tshirt>> filterTshirts(
+    public ResponseEntity<?> filterTshirts(
             @RequestParam(defaultValue = "") String brand,
             @RequestParam(defaultValue = "") String color,
             @RequestParam(defaultValue = "") String gender,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String sortOrder) {
-        
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Tshirt> tshirts = tshirtService.filterTshirts(brand, color, gender, pageable);
-        return ResponseEntity.ok(tshirts);
+            @RequestParam(defaultValue = "desc") String sortOrder,
+            @RequestParam(required = false) String cursor) {
+        try {
+            CatalogSort sort = CatalogSort.fromParam(sortBy);
+            Sort.Direction direction = CatalogSort.directionFromParam(sortOrder);
+            if (cursor != null) {
+                int limit = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+                return ResponseEntity.ok(tshirtService.getTshirtsAfter(brand, color, gender, sort, direction, cursor, limit));
+            }
+            Pageable pageable = PageRequest.of(page, size, sort.toSort(direction));
+            return ResponseEntity.ok(tshirtService.filterTshirts(brand, color, gender, pageable));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping("/available-colors")
@@ -259,6 +300,14 @@ public ResponseEntity<?> uploadTshirt(
         }
     }
 
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Object>> getFacets(
+            @RequestParam(required = false) String brand,
+            @RequestParam(required = false) String color,
+            @RequestParam(required = false) String gender) {
+        return ResponseEntity.ok(tshirtService.getFacets(brand, color, gender));
+    }
+
     @GetMapping("/byBrandColorGender")
     public List<Tshirt> getByBrandColorGender(
             @RequestParam String brand,
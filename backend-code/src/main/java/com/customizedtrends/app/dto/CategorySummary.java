@@ -0,0 +1,12 @@
+package com.customizedtrends.app.dto;
+
+import java.util.Map;
+
+// One "shop by category" tile: how many products it holds, a real image to show, and the filter it links to
+public record CategorySummary(
+    String id,
+    String name,
+    long count,
+    String image,
+    Map<String, String> filter
+) {}
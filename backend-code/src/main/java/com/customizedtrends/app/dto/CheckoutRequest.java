@@ -0,0 +1,33 @@
+package com.customizedtrends.app.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+// What the cart posts to /api/orders; prices in the payload are ignored and looked up server side
+@Data
+public class CheckoutRequest {
+    private String customerName;
+    private String address;
+    // The checkout page sends the address nested as shippingAddress.address
+    private Map<String, String> shippingAddress;
+    private List<Item> items;
+
+    @Data
+    public static class Item {
+        // Exactly one of these: a catalog t-shirt (optionally with a design) or a ready-made designed t-shirt
+        private Long tshirtId;
+        private Long designedTshirtId;
+        private Long designId;
+        private Integer quantity;
+        private String size;
+    }
+
+    public String resolveAddress() {
+        if (address != null && !address.isBlank()) {
+            return address;
+        }
+        return shippingAddress != null ? shippingAddress.get("address") : null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.customizedtrends.app.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DesignedTshirtFilter {
+    private String brand;
+    private String color;
+    private String gender;
+    private Long designId;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean featured;
+    private List<String> sizes;
+}
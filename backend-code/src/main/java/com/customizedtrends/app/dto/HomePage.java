@@ -0,0 +1,15 @@
+package com.customizedtrends.app.dto;
+
+import java.util.List;
+
+// Everything the home page renders, with product ids from HomePageConfig resolved to cards
+public record HomePage(
+    String heroImageUrl,
+    String heroHeadline,
+    String heroSubheadline,
+    String bannerText,
+    String bannerImageUrl,
+    List<ProductCard> featuredProducts,
+    ProductCard productOfTheWeek
+) {
+}
@@ -0,0 +1,62 @@
+package com.customizedtrends.app.dto;
+
+import com.customizedtrends.app.model.ImageMetadataHolder;
+
+import java.awt.image.BufferedImage;
+import java.util.Locale;
+
+// Result of running an upload through ImageProcessingService: the bytes to store plus real metadata
+public class ProcessedImage {
+    private final byte[] data;
+    private final String contentType;
+    private final long originalFileSize;
+    private final Integer originalWidth;
+    private final Integer originalHeight;
+    private final Integer width;
+    private final Integer height;
+    // Decoded, downscaled pixels kept so further variants do not decode the upload again
+    private final BufferedImage image;
+
+    public ProcessedImage(byte[] data, String contentType, long originalFileSize,
+                          Integer originalWidth, Integer originalHeight,
+                          Integer width, Integer height, BufferedImage image) {
+        this.data = data;
+        this.contentType = contentType;
+        this.originalFileSize = originalFileSize;
+        this.originalWidth = originalWidth;
+        this.originalHeight = originalHeight;
+        this.width = width;
+        this.height = height;
+        this.image = image;
+    }
+
+    public byte[] getData() { return data; }
+    public String getContentType() { return contentType; }
+    public long getOriginalFileSize() { return originalFileSize; }
+    public long getCompressedFileSize() { return data.length; }
+    public Integer getOriginalWidth() { return originalWidth; }
+    public Integer getOriginalHeight() { return originalHeight; }
+    public Integer getWidth() { return width; }
+    public Integer getHeight() { return height; }
+    public BufferedImage getImage() { return image; }
+
+    // Space saved relative to the upload, e.g. "42.50%"
+    public String getCompressionRatio() {
+        if (originalFileSize <= 0) {
+            return "0.00%";
+        }
+        double saved = (1.0 - (double) data.length / originalFileSize) * 100.0;
+        return String.format(Locale.ROOT, "%.2f%%", Math.max(saved, 0.0));
+    }
+
+    public void applyTo(ImageMetadataHolder holder) {
+        holder.setImageType(contentType);
+        holder.setOriginalFileSize(originalFileSize);
+        holder.setCompressedFileSize(getCompressedFileSize());
+        holder.setOriginalWidth(originalWidth);
+        holder.setOriginalHeight(originalHeight);
+        holder.setCompressedWidth(width);
+        holder.setCompressedHeight(height);
+        holder.setCompressionRatio(getCompressionRatio());
+    }
+}
@@ -0,0 +1,14 @@
+package com.customizedtrends.app.dto;
+
+// Read-only row for product grids (view=card); built directly by JPQL/criteria constructor
+// expressions, so no entity is hydrated or dirty-checked
+public record ProductCard(
+    Long id,
+    String name,
+    Double price,
+    String imageUrl,
+    String thumbnailUrl,
+    String brand,
+    String color,
+    String colorHex
+) {}
@@ -0,0 +1,18 @@
+package com.customizedtrends.app.dto;
+
+// Encoded mockup image; the etag is the content address of the inputs that produced it
+public class RenderedMockup {
+    private final byte[] data;
+    private final String contentType;
+    private final String etag;
+
+    public RenderedMockup(byte[] data, String contentType, String etag) {
+        this.data = data;
+        this.contentType = contentType;
+        this.etag = etag;
+    }
+
+    public byte[] getData() { return data; }
+    public String getContentType() { return contentType; }
+    public String getEtag() { return etag; }
+}
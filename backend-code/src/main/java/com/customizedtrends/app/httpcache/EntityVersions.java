@@ -0,0 +1,121 @@
+package com.customizedtrends.app.httpcache;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A version per entity type, bumped after every committed insert, update or delete of that type
+ * (including element collections such as sizes). Versions only grow, so anything rendered from a
+ * set of entity types is current exactly while the max of their versions is unchanged.
+ */
+@Component
+public class EntityVersions implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        PostCollectionRecreateEventListener, PostCollectionUpdateEventListener, PostCollectionRemoveEventListener {
+    // Starting from the clock keeps versions increasing across restarts
+    private final long bootVersion = System.currentTimeMillis();
+    private final AtomicLong clock = new AtomicLong(bootVersion);
+    private final Map<String, Long> versions = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, this);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, this);
+    }
+
+    public long versionOf(Class<?>... entityTypes) {
+        long version = bootVersion;
+        for (Class<?> entityType : entityTypes) {
+            version = Math.max(version, versions.getOrDefault(entityType.getName(), bootVersion));
+        }
+        return version;
+    }
+
+    // For writes Hibernate does not see as entity events, such as bulk JPQL updates; call once they are committed
+    public void touch(Class<?> entityType) {
+        bump(entityType.getName());
+    }
+
+    // Two commits can draw n and n+1 and store them in the opposite order; max keeps the version from going back
+    private void bump(String entityName) {
+        versions.merge(entityName, clock.incrementAndGet(), Math::max);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        touchAfterCommit(event.getSession(), event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        touchAfterCommit(event.getSession(), event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        touchAfterCommit(event.getSession(), event.getPersister().getEntityName());
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        touchAfterCommit(event.getSession(), event.getAffectedOwnerEntityName());
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        touchAfterCommit(event.getSession(), event.getAffectedOwnerEntityName());
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        touchAfterCommit(event.getSession(), event.getAffectedOwnerEntityName());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    // Bumping only after commit means a reader can never cache uncommitted or rolled back state under the new version
+    private void touchAfterCommit(EventSource session, String entityName) {
+        if (entityName == null) {
+            return;
+        }
+        session.getActionQueue().registerProcess((success, s) -> {
+            if (success) {
+                bump(entityName);
+            }
+        });
+    }
+}
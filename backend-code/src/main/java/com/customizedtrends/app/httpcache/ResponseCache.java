@@ -0,0 +1,138 @@
+package com.customizedtrends.app.httpcache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Conditional GET support for read-mostly endpoints. Bodies are serialized once per version of the
+ * entity types they are built from and kept as bytes; repeat requests are answered from memory and
+ * requests carrying a matching If-None-Match get a 304 without touching the database.
+ */
+@Component
+public class ResponseCache {
+    private static final String POLICY_PREFIX = "app.http-cache.policy.";
+
+    @Autowired
+    private EntityVersions entityVersions;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Cache<String, CachedBody> bodies;
+    private final Map<String, CacheControl> policies = new ConcurrentHashMap<>();
+
+    public ResponseCache(@Value("${app.http-cache.max-bytes:16777216}") long maxBytes) {
+        this.bodies = Caffeine.newBuilder()
+            .maximumWeight(maxBytes)
+            .<String, CachedBody>weigher((key, body) -> key.length() + body.data().length)
+            .recordStats()
+            .build();
+    }
+
+    // A miss means the body was (re)serialized, usually because one of its entities changed
+    @PostConstruct
+    public void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, bodies, "http.responses");
+    }
+
+    /**
+     * Returns the JSON for key, calling loader only when the cached body is older than dependsOn.
+     * A null or empty loader result is a 404 and is not cached.
+     */
+    public ResponseEntity<byte[]> get(String key, String policy, String ifNoneMatch, Supplier<?> loader, Class<?>... dependsOn) {
+        // Read the version before loading so a concurrent write can only make the entry look stale, never fresh
+        long version = entityVersions.versionOf(dependsOn);
+        CachedBody body = bodies.getIfPresent(key);
+        if (body == null || body.version() != version) {
+            Object value = loader.get();
+            if (value instanceof Optional<?> optional) {
+                value = optional.orElse(null);
+            }
+            if (value == null) {
+                return ResponseEntity.notFound().build();
+            }
+            body = render(key, value, version);
+            bodies.put(key, body);
+        }
+
+        CacheControl cacheControl = policies.computeIfAbsent(policy, this::loadPolicy);
+        if (matches(ifNoneMatch, body.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(body.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(body.etag())
+            .cacheControl(cacheControl)
+            .body(body.data());
+    }
+
+    // If-None-Match uses weak comparison and may list several tags
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The tag hashes the bytes rather than the version, so it is the same on every instance and across restarts
+    private CachedBody render(String key, Object value, long version) {
+        try {
+            byte[] data = objectMapper.writeValueAsBytes(value);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            String etag = "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+            return new CachedBody(version, data, etag);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize response for " + key + ": " + e.getMessage());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private CacheControl loadPolicy(String policy) {
+        Duration maxAge = environment.getProperty(POLICY_PREFIX + policy + ".max-age", Duration.class, Duration.ZERO);
+        Duration staleWhileRevalidate = environment.getProperty(
+            POLICY_PREFIX + policy + ".stale-while-revalidate", Duration.class, Duration.ZERO);
+        CacheControl cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        return staleWhileRevalidate.isZero() ? cacheControl : cacheControl.staleWhileRevalidate(staleWhileRevalidate);
+    }
+
+    private record CachedBody(long version, byte[] data, String etag) {
+    }
+}
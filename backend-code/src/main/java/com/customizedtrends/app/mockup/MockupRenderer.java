@@ -0,0 +1,79 @@
+package com.customizedtrends.app.mockup;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+/**
+ * Composites a design onto a base t-shirt image the same way the customizer preview does.
+ * Positions and zoom are expressed in the preview's coordinate space (400x480), with the
+ * t-shirt fitted like CSS object-fit: contain and the design centered on (x, y);
+ * the output is that layout scaled to the requested width.
+ */
+public class MockupRenderer {
+
+    public static final int PREVIEW_WIDTH = 400;
+    public static final int PREVIEW_HEIGHT = 480;
+    // Longest side of the design at zoom 1, matching DESIGN_INITIAL_SIZE in the frontend
+    public static final int DESIGN_BASE_SIZE = 120;
+
+    public static final double DEFAULT_X = PREVIEW_WIDTH / 2.0;
+    public static final double DEFAULT_Y = PREVIEW_HEIGHT * 0.4;
+
+    public BufferedImage render(BufferedImage tshirt, BufferedImage design,
+                                double designZoom, double x, double y, double tshirtZoom, int width) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Mockup width must be positive");
+        }
+        double scale = (double) width / PREVIEW_WIDTH;
+        int height = (int) Math.round(PREVIEW_HEIGHT * scale);
+
+        // JPEG has no alpha, so render straight onto an opaque white canvas
+        BufferedImage canvas = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = canvas.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, width, height);
+            g.scale(scale, scale);
+
+            if (tshirt != null) {
+                // object-fit: contain, then zoom around the center of the preview
+                double fit = Math.min((double) PREVIEW_WIDTH / tshirt.getWidth(), (double) PREVIEW_HEIGHT / tshirt.getHeight())
+                    * positiveOr(tshirtZoom, 1.0);
+                double drawWidth = tshirt.getWidth() * fit;
+                double drawHeight = tshirt.getHeight() * fit;
+                drawImage(g, tshirt, (PREVIEW_WIDTH - drawWidth) / 2, (PREVIEW_HEIGHT - drawHeight) / 2, drawWidth, drawHeight);
+            }
+
+            if (design != null) {
+                // Keep the design's aspect ratio with its longest side at DESIGN_BASE_SIZE * zoom
+                double size = DESIGN_BASE_SIZE * positiveOr(designZoom, 1.0);
+                double ratio = size / Math.max(design.getWidth(), design.getHeight());
+                double drawWidth = design.getWidth() * ratio;
+                double drawHeight = design.getHeight() * ratio;
+                g.setComposite(AlphaComposite.SrcOver);
+                drawImage(g, design, x - drawWidth / 2, y - drawHeight / 2, drawWidth, drawHeight);
+            }
+        } finally {
+            g.dispose();
+        }
+        return canvas;
+    }
+
+    private static void drawImage(Graphics2D g, BufferedImage image, double x, double y, double width, double height) {
+        AffineTransform transform = new AffineTransform();
+        transform.translate(x, y);
+        transform.scale(width / image.getWidth(), height / image.getHeight());
+        g.drawImage(image, transform, null);
+    }
+
+    private static double positiveOr(double value, double fallback) {
+        return value > 0 && !Double.isNaN(value) && !Double.isInfinite(value) ? value : fallback;
+    }
+}
@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-public class Design {
+public class Design implements ImageMetadataHolder {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
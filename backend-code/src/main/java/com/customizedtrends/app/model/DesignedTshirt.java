@@ -5,7 +5,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-public class DesignedTshirt {
+@Table(indexes = {
+    @Index(name = "idx_designed_tshirt_active_gender", columnList = "isActive, gender"),
+    @Index(name = "idx_designed_tshirt_active_price", columnList = "isActive, price")
+})
+public class DesignedTshirt implements ImageMetadataHolder {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -13,10 +17,11 @@ public class DesignedTshirt {
     @Column(nullable = false)
     private String name;
     
-    @ManyToOne(optional = false)
+    // Optional, so queries join them outer and rows without a brand or color are still listed
+    @ManyToOne
     private Brand brand;
 
-    @ManyToOne(optional = false)
+    @ManyToOne
     private Color color;
 
     @ManyToOne
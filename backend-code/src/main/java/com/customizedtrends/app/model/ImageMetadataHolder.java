@@ -0,0 +1,13 @@
+package com.customizedtrends.app.model;
+
+// Entities that record metadata about their uploaded image
+public interface ImageMetadataHolder {
+    void setImageType(String imageType);
+    void setOriginalFileSize(Long originalFileSize);
+    void setCompressedFileSize(Long compressedFileSize);
+    void setOriginalWidth(Integer originalWidth);
+    void setOriginalHeight(Integer originalHeight);
+    void setCompressedWidth(Integer compressedWidth);
+    void setCompressedHeight(Integer compressedHeight);
+    void setCompressionRatio(String compressionRatio);
+}
@@ -18,6 +18,7 @@ public class Order {
     private String address;
     private String status;
     private LocalDateTime createdAt;
+    private Double total;
 
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
     @JoinColumn(name = "order_id")
@@ -52,6 +53,9 @@ public class Order {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     
+    public Double getTotal() { return total; }
+    public void setTotal(Double total) { this.total = total; }
+
     public List<OrderItem> getItems() { return items; }
     public void setItems(List<OrderItem> items) { this.items = items; }
 } 
\ No newline at end of file
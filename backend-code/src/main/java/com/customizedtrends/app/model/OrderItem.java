@@ -8,14 +8,20 @@ public class OrderItem {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    // Either a catalog t-shirt or a designed t-shirt, never both
+    @ManyToOne
     private Tshirt tshirt;
 
-    @ManyToOne(optional = false)
+    @ManyToOne
+    private DesignedTshirt designedTshirt;
+
+    // Plain t-shirts are ordered without a design
+    @ManyToOne
     private Design design;
 
     private Integer quantity;
     private Double price;
+    private String size;
 
     public OrderItem() {}
 
@@ -24,10 +30,14 @@ public class OrderItem {
     public void setId(Long id) { this.id = id; }
     public Tshirt getTshirt() { return tshirt; }
     public void setTshirt(Tshirt tshirt) { this.tshirt = tshirt; }
+    public DesignedTshirt getDesignedTshirt() { return designedTshirt; }
+    public void setDesignedTshirt(DesignedTshirt designedTshirt) { this.designedTshirt = designedTshirt; }
     public Design getDesign() { return design; }
     public void setDesign(Design design) { this.design = design; }
     public Integer getQuantity() { return quantity; }
     public void setQuantity(Integer quantity) { this.quantity = quantity; }
     public Double getPrice() { return price; }
     public void setPrice(Double price) { this.price = price; }
+    public String getSize() { return size; }
+    public void setSize(String size) { this.size = size; }
 } 
\ No newline at end of file
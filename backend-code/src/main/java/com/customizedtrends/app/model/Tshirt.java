@@ -6,7 +6,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-public class Tshirt {
+@Table(indexes = {
+    @Index(name = "idx_tshirt_created_at", columnList = "createdAt, id"),
+    @Index(name = "idx_tshirt_price", columnList = "price, id"),
+    @Index(name = "idx_tshirt_name", columnList = "name, id")
+})
+public class Tshirt implements ImageMetadataHolder {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
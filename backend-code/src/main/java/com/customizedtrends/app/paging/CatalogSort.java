@@ -0,0 +1,53 @@
+package com.customizedtrends.app.paging;
+
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+/**
+ * The sort orders catalog listings accept. Each one is backed by an index on (column, id), so
+ * both offset and keyset pages walk the index instead of sorting the table; id breaks ties so
+ * the order is total and a cursor position is never ambiguous.
+ */
+public enum CatalogSort {
+    CREATED_AT("createdAt"),
+    PRICE("price"),
+    NAME("name");
+
+    private final String attribute;
+
+    CatalogSort(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Sort toSort(Sort.Direction direction) {
+        return Sort.by(direction, attribute).and(Sort.by(direction, "id"));
+    }
+
+    public static CatalogSort fromParam(String sortBy) {
+        for (CatalogSort sort : values()) {
+            if (sort.attribute.equalsIgnoreCase(sortBy)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sortBy: " + sortBy);
+    }
+
+    public static Sort.Direction directionFromParam(String sortOrder) {
+        return Sort.Direction.fromOptionalString(sortOrder)
+            .orElseThrow(() -> new IllegalArgumentException("Unsupported sortOrder: " + sortOrder));
+    }
+
+    // Inverse of String.valueOf on the attribute's value, for reading it back out of a cursor
+    Object parseValue(String value) {
+        return switch (this) {
+            case CREATED_AT -> LocalDateTime.parse(value);
+            case PRICE -> Double.valueOf(value);
+            case NAME -> value;
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package com.customizedtrends.app.paging;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page: its sort value and id, plus the order they were
+ * read in. Sent to clients as an opaque URL-safe token; a cursor only continues the order it
+ * was issued for.
+ */
+public record Cursor(CatalogSort sort, Sort.Direction direction, Object value, long id) {
+    private static final char SEPARATOR = '|';
+
+    // sort|direction|id, then |value unless the value is null; the value goes last so it may contain the separator
+    public String encode() {
+        StringBuilder token = new StringBuilder()
+            .append(sort.name()).append(SEPARATOR)
+            .append(direction.name()).append(SEPARATOR)
+            .append(id);
+        if (value != null) {
+            token.append(SEPARATOR).append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static Cursor decode(String token, CatalogSort sort, Sort.Direction direction) {
+        Cursor cursor;
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+            CatalogSort tokenSort = CatalogSort.valueOf(parts[0]);
+            cursor = new Cursor(tokenSort, Sort.Direction.valueOf(parts[1]),
+                parts.length == 4 ? tokenSort.parseValue(parts[3]) : null, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (cursor.sort != sort || cursor.direction != direction) {
+            throw new IllegalArgumentException("Cursor does not match sortBy/sortOrder");
+        }
+        return cursor;
+    }
+}
@@ -0,0 +1,6 @@
+package com.customizedtrends.app.paging;
+
+import java.util.List;
+
+// A keyset page; nextCursor is null on the last page
+public record CursorPage<T>(List<T> content, int size, String nextCursor) {}
@@ -0,0 +1,4 @@
+package com.customizedtrends.app.paging;
+
+// A row of a keyset page with its position, from which the next page's cursor is made
+public record KeysetRow<T>(T row, Cursor position) {}
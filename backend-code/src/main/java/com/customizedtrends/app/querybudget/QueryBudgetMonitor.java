@@ -0,0 +1,154 @@
+package com.customizedtrends.app.querybudget;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Checks each request's JDBC work against the statement and database time budget, logs the ones over it with
+ * their most repeated SQL, and keeps per-route totals plus the worst request seen for the admin endpoint.
+ */
+@Component
+public class QueryBudgetMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetMonitor.class);
+    private static final int MAX_SQL_LENGTH = 500;
+
+    private final int maxStatements;
+    private final Duration maxDbTime;
+    private final int topSql;
+    private final Map<String, RouteStats> routes = new ConcurrentHashMap<>();
+
+    public QueryBudgetMonitor(@Value("${app.query-budget.max-statements:20}") int maxStatements,
+                              @Value("${app.query-budget.max-db-time:PT0.5S}") Duration maxDbTime,
+                              @Value("${app.query-budget.top-sql:5}") int topSql) {
+        this.maxStatements = maxStatements;
+        this.maxDbTime = maxDbTime;
+        this.topSql = topSql;
+    }
+
+    public record SqlSummary(String sql, int executions, long rows, double dbTimeMs) {}
+
+    public record Offender(String requestId, Instant at, int statements, long rows, double dbTimeMs, List<SqlSummary> topSql) {}
+
+    public record RouteSummary(String route, long requests, long overBudget, double avgStatements, int maxStatements,
+                               double avgDbTimeMs, double maxDbTimeMs, Offender worst) {}
+
+    void finish(String route, RequestQueries queries) {
+        if (queries.getStatements() == 0) {
+            return;
+        }
+        boolean overBudget = queries.getStatements() > maxStatements || queries.getNanos() > maxDbTime.toNanos();
+        RouteStats stats = routes.computeIfAbsent(route, RouteStats::new);
+        if (stats.record(queries, overBudget) || overBudget) {
+            // The worst request per route keeps its SQL; cheaper ones only add to the totals
+            Offender offender = offender(queries);
+            stats.offer(offender, queries.getNanos());
+            if (overBudget) {
+                log(route, offender);
+            }
+        }
+    }
+
+    public List<RouteSummary> topOffenders(String sortBy, int limit) {
+        Comparator<RouteSummary> order = switch (sortBy) {
+            case "dbTime" -> Comparator.comparingDouble(RouteSummary::maxDbTimeMs);
+            case "overBudget" -> Comparator.comparingLong(RouteSummary::overBudget);
+            case "statements" -> Comparator.comparingInt(RouteSummary::maxStatements);
+            default -> throw new IllegalArgumentException("Unknown sort: " + sortBy + " (statements, dbTime or overBudget)");
+        };
+        return routes.values().stream()
+            .map(RouteStats::summary)
+            .sorted(order.reversed())
+            .limit(limit)
+            .toList();
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+
+    private Offender offender(RequestQueries queries) {
+        List<SqlSummary> sql = queries.topSql(topSql).stream()
+            .map(s -> new SqlSummary(abbreviate(s.sql), s.executions, s.rows, millis(s.nanos)))
+            .toList();
+        return new Offender(queries.getRequestId(), Instant.now(), queries.getStatements(), queries.getRows(),
+            millis(queries.getNanos()), sql);
+    }
+
+    private void log(String route, Offender offender) {
+        StringBuilder message = new StringBuilder()
+            .append("Request ").append(offender.requestId()).append(' ').append(route)
+            .append(" ran ").append(offender.statements()).append(" statements (")
+            .append(offender.rows()).append(" rows, ").append(offender.dbTimeMs()).append(" ms in the database); budget is ")
+            .append(maxStatements).append(" statements / ").append(maxDbTime.toMillis()).append(" ms");
+        for (SqlSummary sql : offender.topSql()) {
+            message.append("\n  ").append(sql.executions()).append("x ").append(sql.dbTimeMs()).append(" ms ")
+                .append(sql.rows()).append(" rows: ").append(sql.sql());
+        }
+        logger.warn(message.toString());
+    }
+
+    private static String abbreviate(String sql) {
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() <= MAX_SQL_LENGTH ? flat : flat.substring(0, MAX_SQL_LENGTH) + "...";
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static class RouteStats {
+        private final String route;
+        private long requests;
+        private long overBudget;
+        private long statements;
+        private long nanos;
+        private int maxStatements;
+        private long maxNanos;
+        private int worstStatements = -1;
+        private long worstNanos;
+        private Offender worst;
+
+        RouteStats(String route) {
+            this.route = route;
+        }
+
+        // True when this request is the route's new worst (most statements, then most database time)
+        synchronized boolean record(RequestQueries queries, boolean overBudget) {
+            requests++;
+            this.overBudget += overBudget ? 1 : 0;
+            statements += queries.getStatements();
+            nanos += queries.getNanos();
+            maxStatements = Math.max(maxStatements, queries.getStatements());
+            maxNanos = Math.max(maxNanos, queries.getNanos());
+            return isWorse(queries.getStatements(), queries.getNanos());
+        }
+
+        synchronized void offer(Offender offender, long offenderNanos) {
+            if (isWorse(offender.statements(), offenderNanos)) {
+                worst = offender;
+                worstStatements = offender.statements();
+                worstNanos = offenderNanos;
+            }
+        }
+
+        private boolean isWorse(int statements, long nanos) {
+            return statements > worstStatements || (statements == worstStatements && nanos > worstNanos);
+        }
+
+        synchronized RouteSummary summary() {
+            // A route is registered just before its first request is recorded
+            long count = Math.max(requests, 1);
+            return new RouteSummary(route, requests, overBudget, (double) statements / count, maxStatements,
+                millis(nanos / count), millis(maxNanos), worst);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.customizedtrends.app.querybudget;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Times every statement executed through the pool and counts the rows it returns or changes, charging them to the
+ * request bound to the current thread. Work outside a request (startup, schedulers) passes straight through.
+ */
+class QueryTrackingDataSource extends DelegatingDataSource {
+
+    QueryTrackingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return trackConnection(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return trackConnection(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private static Connection trackConnection(Connection connection) {
+        return proxy(Connection.class, connection, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement/prepareCall carry the SQL; a plain Statement gets it per execute call
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return trackStatement(statement, sql, (Connection) proxy);
+            }
+            return result;
+        });
+    }
+
+    private static Statement trackStatement(Statement statement, String preparedSql, Connection connection) {
+        Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        // execute() hands its result set out later through getResultSet()
+        RequestQueries.SqlStats[] lastExecuted = new RequestQueries.SqlStats[1];
+        return proxy(type, statement, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            RequestQueries queries = RequestQueries.current();
+            if (queries == null) {
+                return invoke(statement, method, args);
+            }
+            if (!name.startsWith("execute")) {
+                Object result = invoke(statement, method, args);
+                return result instanceof ResultSet resultSet && name.equals("getResultSet") && lastExecuted[0] != null
+                    ? trackResultSet(resultSet, (Statement) proxy, queries, lastExecuted[0])
+                    : result;
+            }
+            String sql = preparedSql != null ? preparedSql
+                : args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            RequestQueries.SqlStats stats = queries.executed(sql, System.nanoTime() - start, affectedRows(result));
+            lastExecuted[0] = stats;
+            return result instanceof ResultSet resultSet ? trackResultSet(resultSet, (Statement) proxy, queries, stats) : result;
+        });
+    }
+
+    private static ResultSet trackResultSet(ResultSet resultSet, Statement statement, RequestQueries queries,
+                                            RequestQueries.SqlStats stats) {
+        return proxy(ResultSet.class, resultSet, (proxy, method, args) -> {
+            if (method.getName().equals("getStatement")) {
+                return statement;
+            }
+            if (!method.getName().equals("next")) {
+                return invoke(resultSet, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = invoke(resultSet, method, args);
+            queries.fetched(stats, System.nanoTime() - start, Boolean.TRUE.equals(result));
+            return result;
+        });
+    }
+
+    private static long affectedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(count, 0);
+        }
+        if (result instanceof Long count) {
+            return Math.max(count, 0);
+        }
+        long total = 0;
+        if (result instanceof int[] counts) {
+            for (int count : counts) {
+                total += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                total += Math.max(count, 0);
+            }
+        }
+        return total;
+    }
+
+    // Identity equality on the proxy itself: Hibernate keeps statements and result sets in hash maps
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) ->
+            switch (method.getName()) {
+                case "equals" -> args != null && args.length == 1 && proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "toString" -> target.toString();
+                default -> handler.invoke(proxy, method, args);
+            });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
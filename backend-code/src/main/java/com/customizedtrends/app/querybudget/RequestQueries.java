@@ -0,0 +1,91 @@
+package com.customizedtrends.app.querybudget;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC work done on behalf of one HTTP request: statements, rows and time, plus the same per distinct SQL text
+ * so an N+1 shows up as one query executed N times. Bound to the request's thread by QueryBudgetFilter.
+ */
+public class RequestQueries {
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+    // Generated SQL is a small set of shapes; anything past this is lumped together
+    private static final int MAX_DISTINCT_SQL = 64;
+    private static final String OTHER_SQL = "(other statements)";
+
+    private final String requestId;
+    private final Map<String, SqlStats> bySql = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long nanos;
+
+    RequestQueries(String requestId) {
+        this.requestId = requestId;
+    }
+
+    static RequestQueries begin(String requestId) {
+        RequestQueries queries = new RequestQueries(requestId);
+        CURRENT.set(queries);
+        return queries;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    static RequestQueries current() {
+        return CURRENT.get();
+    }
+
+    public String getRequestId() { return requestId; }
+    public int getStatements() { return statements; }
+    public long getRows() { return rows; }
+    public long getNanos() { return nanos; }
+
+    SqlStats executed(String sql, long elapsedNanos, long affectedRows) {
+        String key = sql != null ? sql : "(unknown)";
+        SqlStats stats = bySql.get(key);
+        if (stats == null) {
+            key = bySql.size() < MAX_DISTINCT_SQL ? key : OTHER_SQL;
+            stats = bySql.computeIfAbsent(key, SqlStats::new);
+        }
+        statements++;
+        stats.executions++;
+        add(stats, elapsedNanos, affectedRows);
+        return stats;
+    }
+
+    // Rows read through a result set count towards the statement that produced it
+    void fetched(SqlStats stats, long elapsedNanos, boolean row) {
+        add(stats, elapsedNanos, row ? 1 : 0);
+    }
+
+    private void add(SqlStats stats, long elapsedNanos, long rowCount) {
+        stats.nanos += elapsedNanos;
+        stats.rows += rowCount;
+        nanos += elapsedNanos;
+        rows += rowCount;
+    }
+
+    // Most executed first, then slowest
+    List<SqlStats> topSql(int limit) {
+        List<SqlStats> sorted = new ArrayList<>(bySql.values());
+        sorted.sort(Comparator.comparingInt((SqlStats s) -> s.executions).reversed()
+            .thenComparing(Comparator.comparingLong((SqlStats s) -> s.nanos).reversed()));
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    static class SqlStats {
+        final String sql;
+        int executions;
+        long rows;
+        long nanos;
+
+        SqlStats(String sql) {
+            this.sql = sql;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.customizedtrends.app.repository;
+
+import com.customizedtrends.app.dto.ProductCard;
+import com.customizedtrends.app.model.DesignedTshirt;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+// Card projections need a criteria constructor query, which derived/@Query methods cannot combine with a Specification
+public interface DesignedTshirtCardRepository {
+    Page<ProductCard> findCards(Specification<DesignedTshirt> spec, Pageable pageable);
+
+    List<ProductCard> findCardsByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,97 @@
+package com.customizedtrends.app.repository;
+
+import com.customizedtrends.app.dto.ProductCard;
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.DesignedTshirt;
+import com.customizedtrends.app.model.DesignedTshirtImage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+public class DesignedTshirtCardRepositoryImpl implements DesignedTshirtCardRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<ProductCard> findCards(Specification<DesignedTshirt> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ProductCard> query = cb.createQuery(ProductCard.class);
+        Root<DesignedTshirt> root = query.from(DesignedTshirt.class);
+        select(cb, query, root);
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        List<ProductCard> content = entityManager.createQuery(query)
+            .setFirstResult((int) pageable.getOffset())
+            .setMaxResults(pageable.getPageSize())
+            .getResultList();
+
+        CriteriaQuery<Long> countQuery = cb.createQuery(Long.class);
+        Root<DesignedTshirt> countRoot = countQuery.from(DesignedTshirt.class);
+        countQuery.select(cb.count(countRoot)).where(spec.toPredicate(countRoot, countQuery, cb));
+        long total = entityManager.createQuery(countQuery).getSingleResult();
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<ProductCard> findCardsByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductCard> query = cb.createQuery(ProductCard.class);
+        Root<DesignedTshirt> root = query.from(DesignedTshirt.class);
+        select(cb, query, root);
+        // Soft-deleted products can still be referenced by id (home page config, order history)
+        query.where(root.get("id").in(ids), cb.isTrue(root.get("isActive")));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    private static void select(CriteriaBuilder cb, CriteriaQuery<ProductCard> query, Root<DesignedTshirt> root) {
+        // Outer joins: brand and color are optional, and the count query does not join them at all
+        Join<DesignedTshirt, Brand> brand = root.join("brand", JoinType.LEFT);
+        Join<DesignedTshirt, Color> color = root.join("color", JoinType.LEFT);
+        query.select(cb.construct(ProductCard.class,
+            root.get("id"),
+            root.get("name"),
+            root.get("price"),
+            mainImageUrl(cb, query, root),
+            root.get("thumbnailUrl"),
+            brand.get("name"),
+            color.get("name"),
+            color.get("hexCode")));
+    }
+
+    // Main gallery image, else the legacy single imageUrl column, else any gallery image
+    private static Expression<String> mainImageUrl(CriteriaBuilder cb, CriteriaQuery<?> query, Root<DesignedTshirt> root) {
+        Subquery<String> main = query.subquery(String.class);
+        Root<DesignedTshirtImage> mainImage = main.from(DesignedTshirtImage.class);
+        main.select(cb.least(mainImage.<String>get("imageUrl")))
+            .where(cb.equal(mainImage.get("designedTshirt"), root), cb.isTrue(mainImage.get("isMain")));
+
+        Subquery<String> any = query.subquery(String.class);
+        Root<DesignedTshirtImage> anyImage = any.from(DesignedTshirtImage.class);
+        any.select(cb.least(anyImage.<String>get("imageUrl")))
+            .where(cb.equal(anyImage.get("designedTshirt"), root));
+
+        return cb.coalesce(main, cb.coalesce(root.<String>get("imageUrl"), any));
+    }
+}
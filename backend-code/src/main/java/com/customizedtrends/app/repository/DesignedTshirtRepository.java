@@ -3,13 +3,23 @@ package com.customizedtrends.app.repository;
 import com.customizedtrends.app.model.DesignedTshirt;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
-public interface DesignedTshirtRepository extends JpaRepository<DesignedTshirt, Long> {
+public interface DesignedTshirtRepository extends JpaRepository<DesignedTshirt, Long>, JpaSpecificationExecutor<DesignedTshirt>,
+        DesignedTshirtCardRepository {
+
+    // Filtered pages join their to-one references; images and sizes are batch-fetched
+    @Override
+    @EntityGraph(attributePaths = {"brand", "color", "design"})
+    Page<DesignedTshirt> findAll(Specification<DesignedTshirt> spec, Pageable pageable);
     
     // Find all active designed t-shirts
     List<DesignedTshirt> findByIsActiveTrue();
@@ -19,13 +29,12 @@ public interface DesignedTshirtRepository extends JpaRepository<DesignedTshirt,
     
     // Find featured designed t-shirts
     List<DesignedTshirt> findByFeaturedTrueAndIsActiveTrue();
-    
-    // Search designed t-shirts by name, tags, or description
-    @Query("SELECT dt FROM DesignedTshirt dt WHERE dt.isActive = true AND " +
-           "(LOWER(dt.name) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(dt.tags) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
-           "LOWER(dt.description) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<DesignedTshirt> searchDesignedTshirts(@Param("search") String search, Pageable pageable);
+
+    List<DesignedTshirt> findByFeaturedTrueAndIsActiveTrue(Pageable pageable);
+
+    // Served by idx_designed_tshirt_active_gender without touching the table rows
+    @Query("SELECT d.gender FROM DesignedTshirt d WHERE d.isActive = true AND d.gender IS NOT NULL GROUP BY d.gender")
+    List<String> findActiveGenders();
     
     // Find by brand
     List<DesignedTshirt> findByBrand_NameAndIsActiveTrue(String brandName);
@@ -50,4 +59,9 @@ public interface DesignedTshirtRepository extends JpaRepository<DesignedTshirt,
     
     // Count active designed t-shirts
     long countByIsActiveTrue();
+
+    // Atomic check-and-decrement, as TshirtRepository.reserveStock
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE DesignedTshirt d SET d.stock = d.stock - :quantity WHERE d.id = :id AND d.stock >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
 }
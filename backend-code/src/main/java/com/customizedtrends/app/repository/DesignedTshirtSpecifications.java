@@ -0,0 +1,62 @@
+package com.customizedtrends.app.repository;
+
+import com.customizedtrends.app.dto.DesignedTshirtFilter;
+import com.customizedtrends.app.model.DesignedTshirt;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class DesignedTshirtSpecifications {
+
+    private DesignedTshirtSpecifications() {}
+
+    // Build a single WHERE clause from every filter that is set; blank values are ignored
+    public static Specification<DesignedTshirt> fromFilter(DesignedTshirtFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("isActive")));
+
+            if (hasText(filter.getBrand())) {
+                predicates.add(cb.equal(root.get("brand").get("name"), filter.getBrand()));
+            }
+            if (hasText(filter.getColor())) {
+                predicates.add(cb.equal(root.get("color").get("name"), filter.getColor()));
+            }
+            if (hasText(filter.getGender())) {
+                predicates.add(cb.equal(root.get("gender"), filter.getGender()));
+            }
+            if (filter.getDesignId() != null) {
+                predicates.add(cb.equal(root.get("design").get("id"), filter.getDesignId()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), filter.getMaxPrice()));
+            }
+            if (filter.getFeatured() != null) {
+                predicates.add(cb.equal(root.get("featured"), filter.getFeatured()));
+            }
+            if (filter.getSizes() != null && !filter.getSizes().isEmpty()) {
+                // EXISTS subquery instead of a join so rows are not duplicated and the count stays exact
+                Subquery<Long> sizeMatch = query.subquery(Long.class);
+                Root<DesignedTshirt> sub = sizeMatch.from(DesignedTshirt.class);
+                Join<DesignedTshirt, String> sizes = sub.join("sizes");
+                sizeMatch.select(sub.get("id"))
+                        .where(cb.equal(sub.get("id"), root.get("id")), sizes.in(filter.getSizes()));
+                predicates.add(cb.exists(sizeMatch));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -2,9 +2,16 @@ package com.customizedtrends.app.repository;
 
 import com.customizedtrends.app.model.Order;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByUserId(Long userId);
+
+    // Items are fetched with the orders so they can be read outside a session (the startup trending replay)
+    @Query("SELECT DISTINCT o FROM Order o LEFT JOIN FETCH o.items WHERE o.createdAt > :since")
+    List<Order> findWithItemsByCreatedAtAfter(@Param("since") LocalDateTime since);
 } 
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.customizedtrends.app.repository;
+
+import com.customizedtrends.app.dto.ProductCard;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.paging.CatalogSort;
+import com.customizedtrends.app.paging.Cursor;
+import com.customizedtrends.app.paging.KeysetRow;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+// Keyset pagination needs a predicate and order that depend on the sort, which a fixed @Query cannot express.
+// Both return up to limit rows after the cursor (or from the start when it is null), in sort order.
+public interface TshirtKeysetRepository {
+    List<KeysetRow<Tshirt>> findAfter(String brand, String color, String gender,
+                                      CatalogSort sort, Sort.Direction direction, Cursor after, int limit);
+
+    List<KeysetRow<ProductCard>> findCardsAfter(String brand, String color, String gender,
+                                                CatalogSort sort, Sort.Direction direction, Cursor after, int limit);
+}
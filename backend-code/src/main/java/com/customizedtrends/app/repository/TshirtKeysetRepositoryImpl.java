@@ -0,0 +1,103 @@
+package com.customizedtrends.app.repository;
+
+import com.customizedtrends.app.dto.ProductCard;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.paging.CatalogSort;
+import com.customizedtrends.app.paging.Cursor;
+import com.customizedtrends.app.paging.KeysetRow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TshirtKeysetRepositoryImpl implements TshirtKeysetRepository {
+    // Brand and color join in, as for offset pages; images and sizes are batch-fetched
+    private static final String ENTITY = "t FROM Tshirt t LEFT JOIN FETCH t.brand b LEFT JOIN FETCH t.color c";
+
+    private static final String CARD = "new com.customizedtrends.app.dto.ProductCard(t.id, t.name, t.price, " +
+        TshirtRepository.MAIN_IMAGE_URL + ", t.thumbnailUrl, b.name, c.name, c.hexCode) " +
+        "FROM Tshirt t LEFT JOIN t.brand b LEFT JOIN t.color c";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<KeysetRow<Tshirt>> findAfter(String brand, String color, String gender,
+                                             CatalogSort sort, Sort.Direction direction, Cursor after, int limit) {
+        return findAfter(ENTITY, Tshirt.class, brand, color, gender, sort, direction, after, limit);
+    }
+
+    @Override
+    public List<KeysetRow<ProductCard>> findCardsAfter(String brand, String color, String gender,
+                                                       CatalogSort sort, Sort.Direction direction, Cursor after, int limit) {
+        return findAfter(CARD, ProductCard.class, brand, color, gender, sort, direction, after, limit);
+    }
+
+    // NULL sorts lowest (as in MySQL and H2), so rows with no value form their own segment, before
+    // the others ascending and after them descending; each segment is a plain range scan on the
+    // (column, id) index, which an OR across both would not be.
+    private <T> List<KeysetRow<T>> findAfter(String select, Class<T> type, String brand, String color, String gender,
+                                             CatalogSort sort, Sort.Direction direction, Cursor after, int limit) {
+        if (after == null) {
+            // The first page has no bound, so one ordered scan covers both segments
+            return find(select, type, brand, color, gender, sort, direction, null, null, limit);
+        }
+        boolean nullsFirst = direction.isAscending();
+        boolean inNullSegment = after.value() == null;
+        List<KeysetRow<T>> rows = new ArrayList<>(find(select, type, brand, color, gender, sort, direction, inNullSegment, after, limit));
+        if (rows.size() < limit && inNullSegment == nullsFirst) {
+            rows.addAll(find(select, type, brand, color, gender, sort, direction, !inNullSegment, null, limit - rows.size()));
+        }
+        return rows;
+    }
+
+    // nullSegment: true for rows without a value, false for rows with one, null for both.
+    // Built as JPQL from whitelisted parts rather than criteria: Hibernate caches the plan per query
+    // string, while a criteria query is translated again on every call.
+    private <T> List<KeysetRow<T>> find(String select, Class<T> type, String brand, String color, String gender,
+                                        CatalogSort sort, Sort.Direction direction, Boolean nullSegment, Cursor after, int limit) {
+        String value = "t." + sort.getAttribute();
+        boolean ascending = direction.isAscending();
+        String greater = ascending ? " > " : " < ";
+        String order = ascending ? " ASC" : " DESC";
+
+        StringBuilder jpql = new StringBuilder("SELECT ").append(value).append(", t.id, ").append(select).append(" WHERE " +
+            "(:brand = '' OR b.name = :brand) AND " +
+            "(:color = '' OR c.name = :color) AND " +
+            "(:gender = '' OR t.gender = :gender)");
+        if (Boolean.TRUE.equals(nullSegment)) {
+            jpql.append(" AND ").append(value).append(" IS NULL");
+            if (after != null) {
+                jpql.append(" AND t.id").append(greater).append(":id");
+            }
+        } else if (Boolean.FALSE.equals(nullSegment) && after != null) {
+            // value >= last (a range on the index), then skip the rows at last that were already served
+            jpql.append(" AND ").append(value).append(ascending ? " >= " : " <= ").append(":value")
+                .append(" AND (").append(value).append(greater).append(":value OR t.id").append(greater).append(":id)");
+        } else if (Boolean.FALSE.equals(nullSegment)) {
+            jpql.append(" AND ").append(value).append(" IS NOT NULL");
+        }
+        jpql.append(" ORDER BY ").append(value).append(order).append(", t.id").append(order);
+
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+            .setParameter("brand", brand)
+            .setParameter("color", color)
+            .setParameter("gender", gender)
+            .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("id", after.id());
+            if (Boolean.FALSE.equals(nullSegment)) {
+                query.setParameter("value", after.value());
+            }
+        }
+
+        List<KeysetRow<T>> rows = new ArrayList<>();
+        for (Object[] row : query.getResultList()) {
+            rows.add(new KeysetRow<>(type.cast(row[2]), new Cursor(sort, direction, row[0], (Long) row[1])));
+        }
+        return rows;
+    }
+}
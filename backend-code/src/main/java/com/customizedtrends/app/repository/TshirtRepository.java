@@ -1,30 +1,33 @@
 package com.customizedtrends.app.repository;
 
+import com.customizedtrends.app.dto.ProductCard;
 import com.customizedtrends.app.model.Brand;
 import com.customizedtrends.app.model.Color;
 import com.customizedtrends.app.model.Tshirt;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface TshirtRepository extends JpaRepository<Tshirt, Long> {
+public interface TshirtRepository extends JpaRepository<Tshirt, Long>, TshirtKeysetRepository {
+    // List pages join brand and color into the page query; images and sizes are batch-fetched
+    @Override
+    @EntityGraph(attributePaths = {"brand", "color"})
+    Page<Tshirt> findAll(Pageable pageable);
+
     Optional<Tshirt> findByBrandAndColor(Brand brand, Color color);
     
     Optional<Tshirt> findByBrandAndColorAndGender(Brand brand, Color color, String gender);
     
-    // Search t-shirts by name, tags, or description
-    @Query("SELECT t FROM Tshirt t WHERE " +
-           "LOWER(t.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(t.tags) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(t.description) LIKE LOWER(CONCAT('%', :query, '%'))")
-    Page<Tshirt> searchTshirts(@Param("query") String query, Pageable pageable);
-    
     // Filter t-shirts by brand, color, and gender
+    @EntityGraph(attributePaths = {"brand", "color"})
     @Query("SELECT t FROM Tshirt t WHERE " +
            "(:brand = '' OR t.brand.name = :brand) AND " +
            "(:color = '' OR t.color.name = :color) AND " +
@@ -34,29 +37,37 @@ public interface TshirtRepository extends JpaRepository<Tshirt, Long> {
                                @Param("gender") String gender, 
                                Pageable pageable);
 
-    // Find available colors for a specific brand
-    @Query("SELECT DISTINCT t.color FROM Tshirt t WHERE t.brand.name = :brandName")
-    List<Color> findAvailableColorsByBrand(@Param("brandName") String brandName);
-
-    // Find available colors for a specific gender
-    @Query("SELECT DISTINCT t.color FROM Tshirt t WHERE t.gender = :gender")
-    List<Color> findAvailableColorsByGender(@Param("gender") String gender);
+    // Card projection for product grids: main image resolved in SQL, no entity hydration
+    @Query(value = "SELECT new com.customizedtrends.app.dto.ProductCard(t.id, t.name, t.price, " + MAIN_IMAGE_URL + ", " +
+           "t.thumbnailUrl, b.name, c.name, c.hexCode) FROM Tshirt t LEFT JOIN t.brand b LEFT JOIN t.color c WHERE " +
+           "(:brand = '' OR b.name = :brand) AND " +
+           "(:color = '' OR c.name = :color) AND " +
+           "(:gender = '' OR t.gender = :gender)",
+           countQuery = "SELECT COUNT(t) FROM Tshirt t LEFT JOIN t.brand b LEFT JOIN t.color c WHERE " +
+           "(:brand = '' OR b.name = :brand) AND " +
+           "(:color = '' OR c.name = :color) AND " +
+           "(:gender = '' OR t.gender = :gender)")
+    Page<ProductCard> findCards(@Param("brand") String brand,
+                                @Param("color") String color,
+                                @Param("gender") String gender,
+                                Pageable pageable);
 
-    // Find available colors for a specific brand and gender combination
-    @Query("SELECT DISTINCT t.color FROM Tshirt t WHERE t.brand.name = :brandName AND t.gender = :gender")
-    List<Color> findAvailableColorsByBrandAndGender(@Param("brandName") String brandName, @Param("gender") String gender);
+    @Query("SELECT new com.customizedtrends.app.dto.ProductCard(t.id, t.name, t.price, " + MAIN_IMAGE_URL + ", " +
+           "t.thumbnailUrl, b.name, c.name, c.hexCode) FROM Tshirt t LEFT JOIN t.brand b LEFT JOIN t.color c WHERE t.id IN :ids")
+    List<ProductCard> findCardsByIdIn(@Param("ids") Collection<Long> ids);
 
-    // Find all colors that have t-shirts
-    @Query("SELECT DISTINCT t.color FROM Tshirt t")
-    List<Color> findAllAvailableColors();
+    // Main gallery image, else the legacy single imageUrl column, else any gallery image
+    String MAIN_IMAGE_URL = "COALESCE(" +
+           "(SELECT MIN(i.imageUrl) FROM TshirtImage i WHERE i.tshirt = t AND i.isMain = true), " +
+           "t.imageUrl, " +
+           "(SELECT MIN(a.imageUrl) FROM TshirtImage a WHERE a.tshirt = t))";
 
-    // Find available brands for a specific gender
-    @Query("SELECT DISTINCT t.brand FROM Tshirt t WHERE t.gender = :gender")
-    List<Brand> findAvailableBrandsByGender(@Param("gender") String gender);
+    List<Tshirt> findByFeaturedTrue(Pageable pageable);
 
-    // Find all brands that have t-shirts
-    @Query("SELECT DISTINCT t.brand FROM Tshirt t")
-    List<Brand> findAllAvailableBrands();
+    // Atomic check-and-decrement; 0 rows updated means there was not enough stock
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Tshirt t SET t.stock = t.stock - :quantity WHERE t.id = :id AND t.stock >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
 
     List<Tshirt> findAllByBrandNameAndColorNameAndGender(String brand, String color, String gender);
 } 
\ No newline at end of file
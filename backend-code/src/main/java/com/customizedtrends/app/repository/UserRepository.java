@@ -2,9 +2,17 @@ package com.customizedtrends.app.repository;
 
 import com.customizedtrends.app.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByName(String name);
     Optional<User> findByEmail(String email);
-} 
\ No newline at end of file
+
+    // One round trip for both unique columns; at most two rows since each side is unique
+    @Query("SELECT u FROM User u WHERE u.name = :name OR u.email = :email")
+    List<User> findByNameOrEmail(@Param("name") String name, @Param("email") String email);
+}
@@ -0,0 +1,232 @@
+package com.customizedtrends.app.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over a few weighted text fields of a document.
+ * Terms are kept in a sorted dictionary so prefix lookups are a range scan;
+ * typos are tolerated by a bounded edit-distance match against the dictionary.
+ */
+public class InvertedIndex {
+
+    private static final float EXACT_BOOST = 1.0f;
+    private static final float PREFIX_BOOST = 0.6f;
+    private static final float FUZZY_BOOST = 0.3f;
+    private static final int MIN_FUZZY_LENGTH = 4;
+
+    private final Map<String, Float> fieldWeights;
+
+    // term -> (docId -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    // docId -> terms, so updates and removals do not need the old document
+    private final Map<Long, Set<String>> forward = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public InvertedIndex(Map<String, Float> fieldWeights) {
+        this.fieldWeights = new LinkedHashMap<>(fieldWeights);
+    }
+
+    // Add or replace a document; fields not configured in the index are ignored
+    public void put(Long docId, Map<String, String> fields) {
+        Map<String, Float> termWeights = new HashMap<>();
+        fieldWeights.forEach((field, weight) -> {
+            for (String token : tokenize(fields.get(field))) {
+                termWeights.merge(token, weight, Float::sum);
+            }
+        });
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(docId);
+            termWeights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, t -> new HashMap<>()).put(docId, weight));
+            forward.put(docId, termWeights.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long docId) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            forward.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return forward.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns ids of documents matching every query token (exact, prefix or fuzzy),
+     * best match first. Ties are broken by id, newest first.
+     */
+    public List<Long> search(String query) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String token : tokens) {
+                Map<Long, Float> tokenScores = scoreToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    Map<Long, Float> merged = new HashMap<>();
+                    for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+                        Float other = tokenScores.get(entry.getKey());
+                        if (other != null) {
+                            merged.put(entry.getKey(), entry.getValue() + other);
+                        }
+                    }
+                    scores = merged;
+                }
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+
+            List<Map.Entry<Long, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Float.compare(b.getValue(), a.getValue());
+                return byScore != 0 ? byScore : Long.compare(b.getKey(), a.getKey());
+            });
+            List<Long> ids = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Float> entry : ranked) {
+                ids.add(entry.getKey());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<Long, Float> scoreToken(String token) {
+        Map<Long, Float> scores = new HashMap<>();
+        int docCount = Math.max(forward.size(), 1);
+
+        // Exact and prefix matches share one range scan over the sorted dictionary
+        for (Map.Entry<String, Map<Long, Float>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            float boost = entry.getKey().equals(token) ? EXACT_BOOST : PREFIX_BOOST;
+            accumulate(scores, entry.getValue(), boost, docCount);
+        }
+
+        if (token.length() >= MIN_FUZZY_LENGTH) {
+            int maxEdits = token.length() >= 8 ? 2 : 1;
+            for (Map.Entry<String, Map<Long, Float>> entry : postings.entrySet()) {
+                String term = entry.getKey();
+                if (term.startsWith(token) || Math.abs(term.length() - token.length()) > maxEdits) {
+                    continue;
+                }
+                if (withinEditDistance(token, term, maxEdits)) {
+                    accumulate(scores, entry.getValue(), FUZZY_BOOST, docCount);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static void accumulate(Map<Long, Float> scores, Map<Long, Float> docs, float boost, int docCount) {
+        float idf = (float) Math.log(1.0 + (double) docCount / docs.size());
+        for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+            // Keep the best way a token matched a document rather than summing prefix expansions
+            scores.merge(doc.getKey(), doc.getValue() * boost * idf, Math::max);
+        }
+    }
+
+    private void removeUnlocked(Long docId) {
+        Set<String> terms = forward.remove(docId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(docId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    // Lower-case alphanumeric tokens; tags are comma separated so punctuation is a separator too
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> tokens = new HashSet<>();
+        List<String> ordered = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                String token = current.toString();
+                if (tokens.add(token)) {
+                    ordered.add(token);
+                }
+                current.setLength(0);
+            }
+        }
+        return ordered;
+    }
+
+    // Banded Levenshtein that gives up as soon as every cell in a row exceeds the limit
+    static boolean withinEditDistance(String a, String b, int maxEdits) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > maxEdits) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= maxEdits;
+    }
+}
@@ -1,8 +1,12 @@
 package com.customizedtrends.app.service;
 
+import com.customizedtrends.app.config.CacheConfig;
 import com.customizedtrends.app.model.Brand;
 import com.customizedtrends.app.repository.BrandRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,10 +17,14 @@ public class BrandService {
     @Autowired
     private BrandRepository brandRepository;
 
+    @Autowired
+    private TshirtFacetService tshirtFacetService;
+
     public List<Brand> getAllBrands() {
         return brandRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CacheConfig.BRANDS_BY_ID, unless = "#result == null")
     public Optional<Brand> getBrandById(Long id) {
         return brandRepository.findById(id);
     }
@@ -25,19 +33,31 @@ public class BrandService {
         return brandRepository.save(brand);
     }
 
+    // Renames change the by-name key, so the whole (small) by-name cache is dropped
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BRANDS_BY_ID, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.BRANDS_BY_NAME, allEntries = true)
+    })
     public Brand updateBrand(Long id, Brand updatedBrand) {
         return brandRepository.findById(id)
             .map(brand -> {
                 brand.setName(updatedBrand.getName());
-                return brandRepository.save(brand);
+                Brand saved = brandRepository.save(brand);
+                tshirtFacetService.refreshBrand(saved);
+                return saved;
             })
             .orElseThrow(() -> new RuntimeException("Brand not found"));
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.BRANDS_BY_ID, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.BRANDS_BY_NAME, allEntries = true)
+    })
     public void deleteBrand(Long id) {
         brandRepository.deleteById(id);
     }
 
+    @Cacheable(cacheNames = CacheConfig.BRANDS_BY_NAME, unless = "#result == null")
     public Optional<Brand> findBrandByName(String name) {
         return brandRepository.findByName(name);
     }
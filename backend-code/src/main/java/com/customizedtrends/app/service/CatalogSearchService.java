@@ -0,0 +1,125 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.ProductCard;
+import com.customizedtrends.app.model.DesignedTshirt;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import com.customizedtrends.app.search.InvertedIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Service
+public class CatalogSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogSearchService.class);
+
+    private static final Map<String, Float> FIELD_WEIGHTS = Map.of(
+        "name", 3.0f,
+        "tags", 2.0f,
+        "description", 1.0f
+    );
+
+    @Autowired
+    private TshirtRepository tshirtRepository;
+
+    @Autowired
+    private DesignedTshirtRepository designedTshirtRepository;
+
+    private final InvertedIndex tshirtIndex = new InvertedIndex(FIELD_WEIGHTS);
+    private final InvertedIndex designedTshirtIndex = new InvertedIndex(FIELD_WEIGHTS);
+
+    // Build both indexes once the app (and DataInitializer) is up
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        tshirtIndex.clear();
+        tshirtRepository.findAll().forEach(this::indexTshirt);
+        designedTshirtIndex.clear();
+        designedTshirtRepository.findByIsActiveTrue().forEach(this::indexDesignedTshirt);
+        logger.info("Search index built: {} t-shirts, {} designed t-shirts",
+            tshirtIndex.size(), designedTshirtIndex.size());
+    }
+
+    public void indexTshirt(Tshirt tshirt) {
+        tshirtIndex.put(tshirt.getId(), fields(tshirt.getName(), tshirt.getTags(), tshirt.getDescription()));
+    }
+
+    public void removeTshirt(Long id) {
+        tshirtIndex.remove(id);
+    }
+
+    // Only active designed t-shirts are searchable, so a soft delete removes the entry
+    public void indexDesignedTshirt(DesignedTshirt designedTshirt) {
+        if (Boolean.TRUE.equals(designedTshirt.getIsActive())) {
+            designedTshirtIndex.put(designedTshirt.getId(),
+                fields(designedTshirt.getName(), designedTshirt.getTags(), designedTshirt.getDescription()));
+        } else {
+            designedTshirtIndex.remove(designedTshirt.getId());
+        }
+    }
+
+    public void removeDesignedTshirt(Long id) {
+        designedTshirtIndex.remove(id);
+    }
+
+    public Page<Tshirt> searchTshirts(String query, Pageable pageable) {
+        return page(tshirtIndex.search(query), pageable, tshirtRepository::findAllById, Tshirt::getId);
+    }
+
+    public Page<DesignedTshirt> searchDesignedTshirts(String query, Pageable pageable) {
+        return page(designedTshirtIndex.search(query), pageable, designedTshirtRepository::findAllById, DesignedTshirt::getId);
+    }
+
+    public Page<ProductCard> searchTshirtCards(String query, Pageable pageable) {
+        return page(tshirtIndex.search(query), pageable, tshirtRepository::findCardsByIdIn, ProductCard::id);
+    }
+
+    public Page<ProductCard> searchDesignedTshirtCards(String query, Pageable pageable) {
+        return page(designedTshirtIndex.search(query), pageable, designedTshirtRepository::findCardsByIdIn, ProductCard::id);
+    }
+
+    // Ranking and counting come from the index; only the rows of the requested page are loaded, by primary key
+    private static <T> Page<T> page(List<Long> rankedIds, Pageable pageable,
+                                    Function<List<Long>, ? extends Iterable<T>> loader, Function<T, Long> idOf) {
+        int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+        int to = Math.min(from + pageable.getPageSize(), rankedIds.size());
+        List<Long> pageIds = rankedIds.subList(from, to);
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, rankedIds.size());
+        }
+
+        Map<Long, T> byId = new HashMap<>();
+        for (T row : loader.apply(pageIds)) {
+            byId.put(idOf.apply(row), row);
+        }
+        List<T> content = new ArrayList<>(pageIds.size());
+        for (Long id : pageIds) {
+            T row = byId.get(id);
+            if (row != null) {
+                content.add(row);
+            }
+        }
+        return new PageImpl<>(content, pageable, rankedIds.size());
+    }
+
+    private static Map<String, String> fields(String name, String tags, String description) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("name", name);
+        fields.put("tags", tags);
+        fields.put("description", description);
+        return fields;
+    }
+}
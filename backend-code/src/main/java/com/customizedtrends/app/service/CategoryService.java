@@ -0,0 +1,82 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.config.CacheConfig;
+import com.customizedtrends.app.dto.CategorySummary;
+import com.customizedtrends.app.dto.DesignedTshirtFilter;
+import com.customizedtrends.app.dto.ProductCard;
+import com.customizedtrends.app.model.Design;
+import com.customizedtrends.app.repository.DesignRepository;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
+import com.customizedtrends.app.repository.DesignedTshirtSpecifications;
+import com.customizedtrends.app.repository.TshirtRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class CategoryService {
+    // Newest product with an image represents the category
+    private static final Pageable NEWEST = PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "id"));
+
+    @Autowired
+    private TshirtRepository tshirtRepository;
+
+    @Autowired
+    private DesignedTshirtRepository designedTshirtRepository;
+
+    @Autowired
+    private DesignRepository designRepository;
+
+    // Computed with a handful of indexed count/top-1 queries, then served from the cache until the next catalog write
+    @Cacheable(CacheConfig.CATEGORIES)
+    public List<CategorySummary> getCategories() {
+        List<CategorySummary> categories = new ArrayList<>();
+
+        for (String gender : designedTshirtRepository.findActiveGenders()) {
+            DesignedTshirtFilter filter = new DesignedTshirtFilter();
+            filter.setGender(gender);
+            addDesignedTshirtCategory(categories, "gender-" + gender.toLowerCase(), gender, filter, Map.of("gender", gender));
+        }
+
+        DesignedTshirtFilter featured = new DesignedTshirtFilter();
+        featured.setFeatured(true);
+        addDesignedTshirtCategory(categories, "featured", "Featured", featured, Map.of("featured", "true"));
+
+        addDesignedTshirtCategory(categories, "designed-tshirts", "Designed T-Shirts", new DesignedTshirtFilter(), Map.of());
+
+        Page<ProductCard> tshirts = tshirtRepository.findCards("", "", "", NEWEST);
+        if (tshirts.hasContent()) {
+            categories.add(new CategorySummary("tshirts", "T-Shirts", tshirts.getTotalElements(),
+                tshirts.getContent().get(0).imageUrl(), Map.of()));
+        }
+
+        Page<Design> designs = designRepository.findAll(NEWEST);
+        if (designs.hasContent()) {
+            categories.add(new CategorySummary("designs", "Designs", designs.getTotalElements(),
+                designs.getContent().get(0).getImageUrl(), Map.of()));
+        }
+        return List.copyOf(categories);
+    }
+
+    // Called from every t-shirt, designed t-shirt and design write; the next read recomputes
+    @CacheEvict(cacheNames = CacheConfig.CATEGORIES, allEntries = true)
+    public void invalidate() {
+    }
+
+    private void addDesignedTshirtCategory(List<CategorySummary> categories, String id, String name,
+                                           DesignedTshirtFilter filter, Map<String, String> linkFilter) {
+        Page<ProductCard> page = designedTshirtRepository.findCards(DesignedTshirtSpecifications.fromFilter(filter), NEWEST);
+        if (page.hasContent()) {
+            categories.add(new CategorySummary(id, name, page.getTotalElements(), page.getContent().get(0).imageUrl(), linkFilter));
+        }
+    }
+}
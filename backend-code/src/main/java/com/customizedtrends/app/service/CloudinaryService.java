@@ -2,18 +2,24 @@ package com.customizedtrends.app.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import com.customizedtrends.app.dto.ProcessedImage;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.Map;
 
 @Service
-public class CloudinaryService {
+@ConditionalOnProperty(name = "app.image.storage", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryService implements ImageStorage {
 
     private final Cloudinary cloudinary;
 
+    @Autowired
+    private ImageUploadMetrics uploadMetrics;
+
     public CloudinaryService(
             @Value("${cloudinary.cloud-name}") String cloudName,
             @Value("${cloudinary.api-key}") String apiKey,
@@ -26,25 +32,10 @@ public class CloudinaryService {
         ));
     }
 
-    public String uploadImage(MultipartFile file, String folder) throws IOException {
-        // Check if the file is PNG to preserve transparency
-        boolean isPng = file.getContentType() != null && file.getContentType().equals("image/png");
-        
-        Map<String, Object> uploadOptions = ObjectUtils.asMap(
-                "folder", folder,
-                "resource_type", "image"
-        );
-        
-        // For PNG files, preserve transparency by not applying automatic format conversion
-        if (isPng) {
-            uploadOptions.put("transformation", "q_auto"); // Only quality optimization, no format change
-        } else {
-            uploadOptions.put("transformation", "f_auto,q_auto"); // Auto format for non-PNG
-        }
-        
-        Map<String, Object> uploadResult = cloudinary.uploader().upload(file.getBytes(), uploadOptions);
-        
-        return (String) uploadResult.get("secure_url");
+    @Override
+    public String uploadImage(ProcessedImage image, String folder) throws IOException {
+        return uploadMetrics.record("cloudinary", folder, image,
+            () -> uploadImage(image.getData(), image.getContentType(), folder));
     }
 
     public String uploadImage(byte[] imageData, String imageType, String folder) throws IOException {
@@ -68,6 +59,7 @@ public class CloudinaryService {
         return (String) uploadResult.get("secure_url");
     }
 
+    @Override
     public String generateThumbnailUrl(String originalUrl, int width, int height) {
         // Generate thumbnail URL by appending transformation parameters
         // For PNG files, preserve transparency in thumbnails
@@ -78,6 +70,7 @@ public class CloudinaryService {
         }
     }
 
+    @Override
     public String generateOptimizedUrl(String originalUrl) {
         // Generate optimized URL with quality optimization but preserve PNG transparency
         if (originalUrl.contains(".png")) {
@@ -90,4 +83,32 @@ public class CloudinaryService {
     public void deleteImage(String publicId) throws IOException {
         cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
     }
+
+    @Override
+    public void deleteImageByUrl(String imageUrl) throws IOException {
+        String publicId = extractPublicId(imageUrl);
+        if (publicId != null) {
+            deleteImage(publicId);
+        }
+    }
+
+    // .../image/upload/[transformations/]v123/folder/name.jpg -> folder/name
+    public String extractPublicId(String imageUrl) {
+        int uploadIndex = imageUrl != null ? imageUrl.indexOf("/upload/") : -1;
+        if (uploadIndex < 0) {
+            return null;
+        }
+        String path = imageUrl.substring(uploadIndex + "/upload/".length());
+        String[] segments = path.split("/");
+        int start = 0;
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i].matches("v\\d+")) {
+                start = i + 1;
+                break;
+            }
+        }
+        String publicId = String.join("/", java.util.Arrays.copyOfRange(segments, start, segments.length));
+        int dot = publicId.lastIndexOf('.');
+        return dot > 0 ? publicId.substring(0, dot) : publicId;
+    }
 } 
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.customizedtrends.app.service;
 
+import com.customizedtrends.app.config.CacheConfig;
 import com.customizedtrends.app.model.Color;
 import com.customizedtrends.app.repository.ColorRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,10 +17,14 @@ public class ColorService {
     @Autowired
     private ColorRepository colorRepository;
 
+    @Autowired
+    private TshirtFacetService tshirtFacetService;
+
     public List<Color> getAllColors() {
         return colorRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CacheConfig.COLORS_BY_ID, unless = "#result == null")
     public Optional<Color> getColorById(Long id) {
         return colorRepository.findById(id);
     }
@@ -25,20 +33,32 @@ public class ColorService {
         return colorRepository.save(color);
     }
 
+    // Renames change the by-name key, so the whole (small) by-name cache is dropped
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.COLORS_BY_ID, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.COLORS_BY_NAME, allEntries = true)
+    })
     public Color updateColor(Long id, Color updatedColor) {
         return colorRepository.findById(id)
             .map(color -> {
                 color.setName(updatedColor.getName());
                 color.setHexCode(updatedColor.getHexCode());
-                return colorRepository.save(color);
+                Color saved = colorRepository.save(color);
+                tshirtFacetService.refreshColor(saved);
+                return saved;
             })
             .orElseThrow(() -> new RuntimeException("Color not found"));
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.COLORS_BY_ID, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.COLORS_BY_NAME, allEntries = true)
+    })
     public void deleteColor(Long id) {
         colorRepository.deleteById(id);
     }
 
+    @Cacheable(cacheNames = CacheConfig.COLORS_BY_NAME, unless = "#result == null")
     public Optional<Color> findColorByName(String name) {
         return colorRepository.findByName(name);
     }
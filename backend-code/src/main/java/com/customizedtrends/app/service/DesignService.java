@@ -1,5 +1,6 @@
 package com.customizedtrends.app.service;
 
+import com.customizedtrends.app.config.CacheConfig;
 import com.customizedtrends.app.model.Design;
 import com.customizedtrends.app.model.DesignedTshirt;
 import com.customizedtrends.app.model.OrderItem;
@@ -7,6 +8,8 @@ import com.customizedtrends.app.repository.DesignRepository;
 import com.customizedtrends.app.repository.DesignedTshirtRepository;
 import com.customizedtrends.app.repository.OrderItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -25,18 +28,42 @@ public class DesignService {
     @Autowired
     private OrderItemRepository orderItemRepository;
 
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private DesignTaxonomyService designTaxonomyService;
+
+    @Autowired
+    private CategoryService categoryService;
+
     public List<Design> getAllDesigns() {
         return designRepository.findAll();
     }
 
+    @Cacheable(cacheNames = CacheConfig.DESIGNS_BY_ID, unless = "#result == null")
     public Optional<Design> getDesignById(Long id) {
         return designRepository.findById(id);
     }
 
+    // Edits start from a fresh entity, never the shared instance cached by getDesignById
+    public Optional<Design> getDesignForUpdate(Long id) {
+        return designRepository.findById(id);
+    }
+
+    // Also used to save edits of an existing design; evicted up front so a failed save cannot leave stale data cached
+    @CacheEvict(cacheNames = CacheConfig.DESIGNS_BY_ID, key = "#design.id", condition = "#design.id != null", beforeInvocation = true)
     public Design createDesign(Design design) {
-        return designRepository.save(design);
+        Design saved = designRepository.save(design);
+        designTaxonomyService.add(saved);
+        categoryService.invalidate();
+        return saved;
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DESIGNS_BY_ID, key = "#id")
     public Design updateDesign(Long id, Design updatedDesign) {
         return designRepository.findById(id)
             .map(design -> {
@@ -53,11 +80,15 @@ public class DesignService {
                 design.setDescription(updatedDesign.getDescription());
                 design.setCloudinaryPublicId(updatedDesign.getCloudinaryPublicId());
                 design.setCloudinaryVersion(updatedDesign.getCloudinaryVersion());
-                return designRepository.save(design);
+                Design saved = designRepository.save(design);
+                designTaxonomyService.add(saved);
+                categoryService.invalidate();
+                return saved;
             })
             .orElseThrow(() -> new RuntimeException("Design not found"));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.DESIGNS_BY_ID, key = "#id")
     public void deleteDesign(Long id) {
         // Check if design exists
         Design design = designRepository.findById(id)
@@ -84,6 +115,8 @@ public class DesignService {
         // If no references found, delete the design
         try {
             designRepository.deleteById(id);
+            designTaxonomyService.remove(id);
+            categoryService.invalidate();
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete design: " + e.getMessage() + ". This might be due to database constraints.");
         }
@@ -106,6 +139,7 @@ public class DesignService {
         return designedTshirts.isEmpty() && orderItems.isEmpty();
     }
     
+    @CacheEvict(cacheNames = CacheConfig.DESIGNS_BY_ID, key = "#id")
     public void forceDeleteDesign(Long id) {
         // Check if design exists
         Design design = designRepository.findById(id)
@@ -115,6 +149,10 @@ public class DesignService {
         List<DesignedTshirt> designedTshirts = designedTshirtRepository.findByDesignId(id);
         if (!designedTshirts.isEmpty()) {
             designedTshirtRepository.deleteAll(designedTshirts);
+            designedTshirts.forEach(dt -> {
+                catalogSearchService.removeDesignedTshirt(dt.getId());
+                trendingService.removeDesignedTshirt(dt.getId());
+            });
         }
         
         // Remove all OrderItem references
@@ -126,6 +164,8 @@ public class DesignService {
         // Now delete the design
         try {
             designRepository.deleteById(id);
+            designTaxonomyService.remove(id);
+            categoryService.invalidate();
         } catch (Exception e) {
             throw new RuntimeException("Failed to delete design after removing references: " + e.getMessage());
         }
@@ -0,0 +1,125 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.model.Design;
+import com.customizedtrends.app.repository.DesignRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// Keeps design type/theme/tag dictionaries with usage counts in memory for the gallery sidebar
+@Service
+public class DesignTaxonomyService {
+    private static final Logger logger = LoggerFactory.getLogger(DesignTaxonomyService.class);
+
+    @Autowired
+    private DesignRepository designRepository;
+
+    private record Terms(String type, String theme, Set<String> tags) {}
+
+    private final Map<Long, Terms> termsByDesign = new HashMap<>();
+    // Sorted dictionaries, so the plain lists come out in a stable order without sorting per request
+    private final Map<String, Integer> types = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Integer> themes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final Map<String, Integer> tags = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        termsByDesign.clear();
+        types.clear();
+        themes.clear();
+        tags.clear();
+        designRepository.findAll().forEach(this::add);
+        logger.info("Design taxonomy built: {} designs, {} types, {} themes, {} tags",
+            termsByDesign.size(), types.size(), themes.size(), tags.size());
+    }
+
+    // Add or replace a design's terms
+    public synchronized void add(Design design) {
+        remove(design.getId());
+        Terms terms = new Terms(clean(design.getType()), clean(design.getTheme()), splitTags(design.getTags()));
+        termsByDesign.put(design.getId(), terms);
+        increment(types, terms.type());
+        increment(themes, terms.theme());
+        terms.tags().forEach(tag -> increment(tags, tag));
+    }
+
+    public synchronized void remove(Long designId) {
+        Terms terms = termsByDesign.remove(designId);
+        if (terms != null) {
+            decrement(types, terms.type());
+            decrement(themes, terms.theme());
+            terms.tags().forEach(tag -> decrement(tags, tag));
+        }
+    }
+
+    public synchronized List<String> getTypes() {
+        return new ArrayList<>(types.keySet());
+    }
+
+    public synchronized List<String> getThemes() {
+        return new ArrayList<>(themes.keySet());
+    }
+
+    public synchronized Map<String, Object> getFacets() {
+        Map<String, Object> facets = new LinkedHashMap<>();
+        facets.put("total", termsByDesign.size());
+        facets.put("types", toFacets(types));
+        facets.put("themes", toFacets(themes));
+        facets.put("tags", toFacets(tags));
+        return facets;
+    }
+
+    // Most used first; the dictionary order breaks ties
+    private static List<Map<String, Object>> toFacets(Map<String, Integer> counts) {
+        List<Map<String, Object>> facets = new ArrayList<>(counts.size());
+        counts.forEach((name, count) -> {
+            Map<String, Object> facet = new LinkedHashMap<>();
+            facet.put("name", name);
+            facet.put("count", count);
+            facets.add(facet);
+        });
+        facets.sort(Comparator.comparing(facet -> -(Integer) facet.get("count")));
+        return facets;
+    }
+
+    private static void increment(Map<String, Integer> counts, String term) {
+        if (term != null) {
+            counts.merge(term, 1, Integer::sum);
+        }
+    }
+
+    private static void decrement(Map<String, Integer> counts, String term) {
+        if (term != null) {
+            counts.computeIfPresent(term, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    private static String clean(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static Set<String> splitTags(String value) {
+        Set<String> result = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (value != null) {
+            Arrays.stream(value.split(","))
+                .map(DesignTaxonomyService::clean)
+                .filter(tag -> tag != null)
+                .forEach(result::add);
+        }
+        return result;
+    }
+}
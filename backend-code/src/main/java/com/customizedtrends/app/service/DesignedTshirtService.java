@@ -6,16 +6,17 @@ import com.customizedtrends.app.model.Color;
 import com.customizedtrends.app.model.Design;
 import com.customizedtrends.app.model.DesignedTshirtImage;
 import com.customizedtrends.app.repository.DesignedTshirtRepository;
-import com.customizedtrends.app.repository.BrandRepository;
-import com.customizedtrends.app.repository.ColorRepository;
-import com.customizedtrends.app.repository.DesignRepository;
 import com.customizedtrends.app.repository.DesignedTshirtImageRepository;
-import com.customizedtrends.app.service.CloudinaryService;
+import com.customizedtrends.app.repository.DesignedTshirtSpecifications;
 import com.customizedtrends.app.dto.DesignedTshirtSaveDTO;
+import com.customizedtrends.app.dto.DesignedTshirtFilter;
+import com.customizedtrends.app.dto.ProcessedImage;
+import com.customizedtrends.app.dto.ProductCard;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -30,22 +31,34 @@ public class DesignedTshirtService {
     private DesignedTshirtRepository designedTshirtRepository;
 
     @Autowired
-    private BrandRepository brandRepository;
+    private BrandService brandService;
 
     @Autowired
-    private ColorRepository colorRepository;
+    private ColorService colorService;
 
     @Autowired
-    private DesignRepository designRepository;
+    private DesignService designService;
 
     @Autowired
     private DesignedTshirtImageRepository designedTshirtImageRepository;
 
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private ImageUploadService imageUploadService;
+
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     // Create a new designed t-shirt
-    public DesignedTshirt createDesignedTshirt(DesignedTshirt designedTshirt, String imageUrl, String thumbnailUrl, String optimizedUrl, String adminUsername) {
+    public DesignedTshirt createDesignedTshirt(DesignedTshirt designedTshirt, String imageUrl, String thumbnailUrl, String optimizedUrl, ProcessedImage processedImage, String adminUsername) {
         try {
             // Set metadata
             designedTshirt.setCreatedBy(adminUsername);
@@ -56,19 +69,15 @@ public class DesignedTshirtService {
                 designedTshirt.setImageUrl(imageUrl);
                 designedTshirt.setThumbnailUrl(thumbnailUrl);
                 designedTshirt.setOptimizedUrl(optimizedUrl);
-                designedTshirt.setImageType("image/jpeg"); // Default type
-                
-                // Set placeholder metadata (these would be set by Cloudinary service)
-                designedTshirt.setOriginalFileSize(0L);
-                designedTshirt.setCompressedFileSize(0L);
-                designedTshirt.setOriginalWidth(800);
-                designedTshirt.setOriginalHeight(600);
-                designedTshirt.setCompressedWidth(400);
-                designedTshirt.setCompressedHeight(300);
-                designedTshirt.setCompressionRatio("0%");
+                if (processedImage != null) {
+                    processedImage.applyTo(designedTshirt);
+                }
             }
 
-            return designedTshirtRepository.save(designedTshirt);
+            DesignedTshirt saved = designedTshirtRepository.save(designedTshirt);
+            catalogSearchService.indexDesignedTshirt(saved);
+            categoryService.invalidate();
+            return saved;
         } catch (Exception e) {
             throw new RuntimeException("Error creating designed t-shirt: " + e.getMessage());
         }
@@ -100,11 +109,25 @@ public class DesignedTshirtService {
 
     // Search designed t-shirts
     public Page<DesignedTshirt> searchDesignedTshirts(String search, Pageable pageable) {
-        return designedTshirtRepository.searchDesignedTshirts(search, pageable);
+        return catalogSearchService.searchDesignedTshirts(search, pageable);
+    }
+
+    // Filter active designed t-shirts; filtering, paging and counting all happen in the database
+    public Page<DesignedTshirt> filterDesignedTshirts(DesignedTshirtFilter filter, Pageable pageable) {
+        return designedTshirtRepository.findAll(DesignedTshirtSpecifications.fromFilter(filter), pageable);
+    }
+
+    // Card projections for product grids; same search and filter semantics as the entity queries
+    public Page<ProductCard> searchDesignedTshirtCards(String query, Pageable pageable) {
+        return catalogSearchService.searchDesignedTshirtCards(query, pageable);
+    }
+
+    public Page<ProductCard> filterDesignedTshirtCards(DesignedTshirtFilter filter, Pageable pageable) {
+        return designedTshirtRepository.findCards(DesignedTshirtSpecifications.fromFilter(filter), pageable);
     }
 
     // Update designed t-shirt
-    public DesignedTshirt updateDesignedTshirt(Long id, DesignedTshirt updatedDesignedTshirt, String imageUrl, String thumbnailUrl, String optimizedUrl) {
+    public DesignedTshirt updateDesignedTshirt(Long id, DesignedTshirt updatedDesignedTshirt, String imageUrl, String thumbnailUrl, String optimizedUrl, ProcessedImage processedImage) {
         Optional<DesignedTshirt> existingOptional = designedTshirtRepository.findById(id);
         if (existingOptional.isPresent()) {
             DesignedTshirt existing = existingOptional.get();
@@ -138,10 +161,15 @@ public class DesignedTshirtService {
                 existing.setImageUrl(imageUrl);
                 existing.setThumbnailUrl(thumbnailUrl);
                 existing.setOptimizedUrl(optimizedUrl);
-                existing.setImageType("image/jpeg"); // Default type
+                if (processedImage != null) {
+                    processedImage.applyTo(existing);
+                }
             }
 
-            return designedTshirtRepository.save(existing);
+            DesignedTshirt saved = designedTshirtRepository.save(existing);
+            catalogSearchService.indexDesignedTshirt(saved);
+            categoryService.invalidate();
+            return saved;
         }
         throw new RuntimeException("Designed t-shirt not found with id: " + id);
     }
@@ -153,6 +181,9 @@ public class DesignedTshirtService {
             DesignedTshirt existing = existingOptional.get();
             existing.setIsActive(false);
             designedTshirtRepository.save(existing);
+            catalogSearchService.removeDesignedTshirt(id);
+            trendingService.removeDesignedTshirt(id);
+            categoryService.invalidate();
         } else {
             throw new RuntimeException("Designed t-shirt not found with id: " + id);
         }
@@ -193,13 +224,13 @@ public class DesignedTshirtService {
         // Set fields from dto (populate all fields as in your current logic)
         designedTshirt.setName(dto.getName());
         if (dto.getBrandId() != null) {
-            brandRepository.findById(dto.getBrandId()).ifPresent(designedTshirt::setBrand);
+            brandService.getBrandById(dto.getBrandId()).ifPresent(designedTshirt::setBrand);
         }
         if (dto.getColorId() != null) {
-            colorRepository.findById(dto.getColorId()).ifPresent(designedTshirt::setColor);
+            colorService.getColorById(dto.getColorId()).ifPresent(designedTshirt::setColor);
         }
         if (dto.getDesignId() != null) {
-            designRepository.findById(dto.getDesignId()).ifPresent(designedTshirt::setDesign);
+            designService.getDesignById(dto.getDesignId()).ifPresent(designedTshirt::setDesign);
         }
         designedTshirt.setSizes(dto.getSizes());
         designedTshirt.setGender(dto.getGender());
@@ -217,22 +248,34 @@ public class DesignedTshirtService {
         designedTshirt.setDesignPositionX(dto.getDesignPositionX());
         designedTshirt.setDesignPositionY(dto.getDesignPositionY());
         designedTshirt.setTshirtZoom(dto.getTshirtZoom());
-        // Save the designed t-shirt first
-        DesignedTshirt saved = designedTshirtRepository.save(designedTshirt);
-        if (images != null && !images.isEmpty()) {
-            List<DesignedTshirtImage> imageEntities = new ArrayList<>();
-            for (int i = 0; i < images.size(); i++) {
-                MultipartFile image = images.get(i);
-                String url = cloudinaryService.uploadImage(image, "designed-tshirts");
-                DesignedTshirtImage img = new DesignedTshirtImage();
-                img.setImageUrl(url);
-                img.setDesignedTshirt(saved);
-                img.setIsMain(mainImageIndex != null ? (i == mainImageIndex) : (i == 0));
-                imageEntities.add(designedTshirtImageRepository.save(img));
-            }
-            saved.setImages(imageEntities);
-            designedTshirtRepository.save(saved);
+        // Upload all images concurrently before touching the database
+        List<String> imageUrls = images != null ? imageUploadService.uploadAll(images, "designed-tshirts") : List.of();
+        DesignedTshirt saved;
+        try {
+            // The designed t-shirt and its images commit together; on rollback the uploaded files are removed below
+            saved = transactionTemplate.execute(status -> {
+                DesignedTshirt persisted = designedTshirtRepository.save(designedTshirt);
+                List<DesignedTshirtImage> imageEntities = new ArrayList<>();
+                for (int i = 0; i < imageUrls.size(); i++) {
+                    if (imageUrls.get(i) != null) {
+                        DesignedTshirtImage img = new DesignedTshirtImage();
+                        img.setImageUrl(imageUrls.get(i));
+                        img.setDesignedTshirt(persisted);
+                        img.setIsMain(mainImageIndex != null ? (i == mainImageIndex) : (i == 0));
+                        imageEntities.add(img);
+                    }
+                }
+                if (!imageEntities.isEmpty()) {
+                    persisted.setImages(designedTshirtImageRepository.saveAll(imageEntities));
+                }
+                return persisted;
+            });
+        } catch (RuntimeException e) {
+            imageUploadService.deleteAll(imageUrls);
+            throw e;
         }
+        catalogSearchService.indexDesignedTshirt(saved);
+        categoryService.invalidate();
         return saved;
     }
 }
@@ -0,0 +1,66 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.HomePage;
+import com.customizedtrends.app.dto.ProductCard;
+import com.customizedtrends.app.model.HomePageConfig;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
+import com.customizedtrends.app.repository.HomePageConfigRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class HomePageService {
+    @Autowired
+    private HomePageConfigRepository homePageConfigRepository;
+
+    @Autowired
+    private DesignedTshirtRepository designedTshirtRepository;
+
+    // Config plus one card query for the featured products and the product of the week together
+    public Optional<HomePage> buildHomePage() {
+        return homePageConfigRepository.findAll().stream().findFirst().map(config -> {
+            Set<Long> ids = new LinkedHashSet<>();
+            if (config.getFeaturedProductIds() != null) {
+                ids.addAll(config.getFeaturedProductIds());
+            }
+            if (config.getProductOfTheWeekId() != null) {
+                ids.add(config.getProductOfTheWeekId());
+            }
+            Map<Long, ProductCard> cards = designedTshirtRepository.findCardsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductCard::id, Function.identity()));
+            return toHomePage(config, cards);
+        });
+    }
+
+    // Keeps the admin's ordering; ids that no longer resolve to an active product are dropped
+    private static HomePage toHomePage(HomePageConfig config, Map<Long, ProductCard> cards) {
+        List<ProductCard> featured = new ArrayList<>();
+        if (config.getFeaturedProductIds() != null) {
+            config.getFeaturedProductIds().stream()
+                .distinct()
+                .map(cards::get)
+                .filter(Objects::nonNull)
+                .forEach(featured::add);
+        }
+        ProductCard productOfTheWeek = config.getProductOfTheWeekId() != null ? cards.get(config.getProductOfTheWeekId()) : null;
+        return new HomePage(
+            config.getHeroImageUrl(),
+            config.getHeroHeadline(),
+            config.getHeroSubheadline(),
+            config.getBannerText(),
+            config.getBannerImageUrl(),
+            featured,
+            productOfTheWeek
+        );
+    }
+}
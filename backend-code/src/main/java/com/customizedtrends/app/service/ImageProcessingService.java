@@ -0,0 +1,245 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.ProcessedImage;
+import org.apache.commons.imaging.Imaging;
+import org.apache.commons.imaging.common.ImageMetadata;
+import org.apache.commons.imaging.formats.jpeg.JpegImageMetadata;
+import org.apache.commons.imaging.formats.tiff.TiffField;
+import org.apache.commons.imaging.formats.tiff.constants.TiffTagConstants;
+import org.imgscalr.Scalr;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+@Service
+public class ImageProcessingService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageProcessingService.class);
+
+    @Value("${app.image.processing.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.image.processing.max-dimension:1200}")
+    private int maxDimension;
+
+    @Value("${app.image.processing.thumbnail-size:200}")
+    private int thumbnailSize;
+
+    @Value("${app.image.processing.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    @Value("${app.image.processing.max-pixels:50000000}")
+    private long maxPixels;
+
+    public ProcessedImage process(MultipartFile file) throws IOException {
+        return process(file.getBytes(), file.getContentType());
+    }
+
+    // Decode once, apply EXIF orientation, downscale and re-encode without metadata
+    public ProcessedImage process(byte[] data, String contentType) throws IOException {
+        // Animated GIFs would lose their frames when re-encoded, so they go through untouched
+        if (!enabled || "image/gif".equals(contentType)) {
+            return passThrough(data, contentType);
+        }
+
+        BufferedImage decoded;
+        try {
+            decoded = decode(data);
+        } catch (IIOException e) {
+            // The JDK cannot decode some files it has a reader for (CMYK/YCCK JPEGs, truncated data)
+            logger.debug("Could not decode {}, storing original bytes: {}", contentType, e.getMessage());
+            return passThrough(data, contentType);
+        }
+        if (decoded == null) {
+            // No ImageIO reader for this format (e.g. WebP); keep the original bytes
+            logger.debug("No decoder for {}, storing original bytes", contentType);
+            return passThrough(data, contentType);
+        }
+
+        ImageMetadata metadata = readMetadata(data);
+        int orientation = readOrientation(metadata);
+        BufferedImage oriented = applyOrientation(decoded, orientation);
+        BufferedImage scaled = Math.max(oriented.getWidth(), oriented.getHeight()) > maxDimension
+            ? Scalr.resize(oriented, Scalr.Method.QUALITY, maxDimension)
+            : oriented;
+
+        boolean alpha = scaled.getColorModel().hasAlpha();
+        String outputType = alpha ? "image/png" : "image/jpeg";
+        byte[] encoded = encode(scaled, outputType);
+
+        // Re-encoding a small, already-optimized file without metadata can grow it; keep the smaller one
+        boolean changed = scaled != decoded || orientation > 1 || metadata != null;
+        if (!changed && encoded.length >= data.length && contentType != null && contentType.equals(outputType)) {
+            encoded = data;
+        }
+
+        return new ProcessedImage(encoded, outputType, data.length,
+            oriented.getWidth(), oriented.getHeight(), scaled.getWidth(), scaled.getHeight(), scaled);
+    }
+
+    // Same as ImageIO.read, but the size in the header is checked first: a few KB of
+    // compressed data can otherwise expand into gigabytes of pixels
+    private BufferedImage decode(byte[] data) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("Image is too large: " + reader.getWidth(0) + "x" + reader.getHeight(0) + " pixels");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Square-bounded thumbnail from already decoded pixels
+    public ProcessedImage createThumbnail(ProcessedImage source) throws IOException {
+        return createVariant(source, thumbnailSize);
+    }
+
+    public ProcessedImage createVariant(ProcessedImage source, int targetSize) throws IOException {
+        BufferedImage image = source.getImage();
+        if (image == null) {
+            return source;
+        }
+        BufferedImage resized = Math.max(image.getWidth(), image.getHeight()) > targetSize
+            ? Scalr.resize(image, Scalr.Method.SPEED, targetSize)
+            : image;
+        byte[] encoded = encode(resized, source.getContentType());
+        return new ProcessedImage(encoded, source.getContentType(), source.getCompressedFileSize(),
+            image.getWidth(), image.getHeight(), resized.getWidth(), resized.getHeight(), resized);
+    }
+
+    private ProcessedImage passThrough(byte[] data, String contentType) {
+        Integer width = null;
+        Integer height = null;
+        try {
+            java.awt.Dimension size = Imaging.getImageSize(data);
+            width = size.width;
+            height = size.height;
+        } catch (Exception e) {
+            logger.debug("Could not read image size: {}", e.getMessage());
+        }
+        return new ProcessedImage(data, contentType, data.length, width, height, width, height, null);
+    }
+
+    // WebP needs an ImageIO plugin on the classpath; the JDK itself only ships JPEG/PNG/GIF/BMP writers
+    public boolean canEncode(String contentType) {
+        return ImageIO.getImageWritersByMIMEType(contentType).hasNext();
+    }
+
+    public byte[] encode(BufferedImage image, String contentType) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if ("image/png".equals(contentType)) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+
+        Iterator<ImageWriter> writers = "image/webp".equals(contentType)
+            ? ImageIO.getImageWritersByMIMEType(contentType)
+            : ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for " + contentType);
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (param.canWriteCompressed()) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                param.setCompressionType(param.getCompressionTypes()[0]);
+            }
+            param.setCompressionQuality(jpegQuality);
+        }
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            // Writing a fresh IIOImage with no metadata is what strips EXIF/GPS data
+            writer.write(null, new IIOImage(toRgb(image), null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    // JPEG has no alpha channel; flatten onto white
+    private static BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, image.getWidth(), image.getHeight());
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return rgb;
+    }
+
+    private static ImageMetadata readMetadata(byte[] data) {
+        try {
+            return Imaging.getMetadata(data);
+        } catch (Exception e) {
+            logger.debug("Could not read image metadata: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static int readOrientation(ImageMetadata metadata) {
+        try {
+            if (metadata instanceof JpegImageMetadata jpeg) {
+                TiffField field = jpeg.findEXIFValueWithExactMatch(TiffTagConstants.TIFF_TAG_ORIENTATION);
+                if (field != null) {
+                    return field.getIntValue();
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Could not read EXIF orientation: {}", e.getMessage());
+        }
+        return TiffTagConstants.ORIENTATION_VALUE_HORIZONTAL_NORMAL;
+    }
+
+    // Bake the EXIF orientation into the pixels, since the tag itself is about to be stripped
+    private static BufferedImage applyOrientation(BufferedImage image, int orientation) {
+        switch (orientation) {
+            case TiffTagConstants.ORIENTATION_VALUE_MIRROR_HORIZONTAL:
+                return Scalr.rotate(image, Scalr.Rotation.FLIP_HORZ);
+            case TiffTagConstants.ORIENTATION_VALUE_ROTATE_180:
+                return Scalr.rotate(image, Scalr.Rotation.CW_180);
+            case TiffTagConstants.ORIENTATION_VALUE_MIRROR_VERTICAL:
+                return Scalr.rotate(image, Scalr.Rotation.FLIP_VERT);
+            case TiffTagConstants.ORIENTATION_VALUE_MIRROR_HORIZONTAL_AND_ROTATE_270_CW:
+                return Scalr.rotate(Scalr.rotate(image, Scalr.Rotation.CW_90), Scalr.Rotation.FLIP_HORZ);
+            case TiffTagConstants.ORIENTATION_VALUE_ROTATE_90_CW:
+                return Scalr.rotate(image, Scalr.Rotation.CW_90);
+            case TiffTagConstants.ORIENTATION_VALUE_MIRROR_HORIZONTAL_AND_ROTATE_90_CW:
+                return Scalr.rotate(Scalr.rotate(image, Scalr.Rotation.CW_270), Scalr.Rotation.FLIP_HORZ);
+            case TiffTagConstants.ORIENTATION_VALUE_ROTATE_270_CW:
+                return Scalr.rotate(image, Scalr.Rotation.CW_270);
+            default:
+                return image;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.ProcessedImage;
+
+import java.io.IOException;
+
+// Where uploaded images live; selected with app.image.storage (cloudinary or local)
+public interface ImageStorage {
+
+    // Store an already processed image and return its public URL
+    String uploadImage(ProcessedImage image, String folder) throws IOException;
+
+    String generateThumbnailUrl(String originalUrl, int width, int height);
+
+    String generateOptimizedUrl(String originalUrl);
+
+    void deleteImageByUrl(String imageUrl) throws IOException;
+}
@@ -0,0 +1,43 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.ProcessedImage;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// Upload time and size for every ImageStorage implementation, tagged by storage and folder
+@Component
+public class ImageUploadMetrics {
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @FunctionalInterface
+    public interface Upload {
+        String run() throws IOException;
+    }
+
+    public String record(String storage, String folder, ProcessedImage image, Upload upload) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            String url = upload.run();
+            outcome = "success";
+            return url;
+        } finally {
+            sample.stop(Timer.builder("image.upload")
+                .description("Time to store an already processed image, including the Cloudinary round trip")
+                .tags("storage", storage, "folder", folder, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+            DistributionSummary.builder("image.upload.size")
+                .baseUnit("bytes")
+                .tags("storage", storage, "folder", folder)
+                .register(meterRegistry)
+                .record(image.getCompressedFileSize());
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.customizedtrends.app.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+public class ImageUploadService {
+    private static final Logger logger = LoggerFactory.getLogger(ImageUploadService.class);
+
+    @Autowired
+    private ImageStorage imageStorage;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Autowired
+    @Qualifier("imageUploadExecutor")
+    private AsyncTaskExecutor imageUploadExecutor;
+
+    /**
+     * Uploads all files concurrently and returns their URLs in the same order.
+     * Null or empty files keep their slot with a null URL so callers can still match indexes.
+     * If any upload fails, the ones that succeeded are deleted again before the error is thrown.
+     */
+    public List<String> uploadAll(List<MultipartFile> files, String folder) throws IOException {
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (MultipartFile file : files) {
+            if (file == null || file.isEmpty()) {
+                futures.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            // Read on the request thread: the multipart temp file is owned by the request
+            byte[] data = file.getBytes();
+            String contentType = file.getContentType();
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return imageStorage.uploadImage(imageProcessingService.process(data, contentType), folder);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, imageUploadExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } catch (CompletionException e) {
+            deleteAll(completedUrls(futures));
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof IOException io ? io : new IOException("Image upload failed: " + cause.getMessage(), cause);
+        }
+        return completedUrls(futures);
+    }
+
+    // Best-effort removal of already uploaded images, e.g. when the database write that follows fails
+    public void deleteAll(List<String> urls) {
+        for (String url : urls) {
+            if (url == null) {
+                continue;
+            }
+            try {
+                imageStorage.deleteImageByUrl(url);
+            } catch (Exception e) {
+                logger.warn("Failed to clean up uploaded image {}: {}", url, e.getMessage());
+            }
+        }
+    }
+
+    private static List<String> completedUrls(List<CompletableFuture<String>> futures) {
+        List<String> urls = new ArrayList<>(futures.size());
+        for (CompletableFuture<String> future : futures) {
+            urls.add(future.isDone() && !future.isCompletedExceptionally() ? future.join() : null);
+        }
+        return urls;
+    }
+}
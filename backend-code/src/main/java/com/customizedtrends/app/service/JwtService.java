@@ -1,14 +1,31 @@
 package com.customizedtrends.app.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Service
@@ -20,6 +37,45 @@ public class JwtService {
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Verified tokens by SHA-256 of the token, so raw bearer tokens are not retained; each entry expires with its token
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${jwt.cache.maximum-size:10000}") long maximumSize) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return Math.max(0, token.expiresAtMillis() - System.currentTimeMillis()) * 1_000_000;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    // Each miss is a full HMAC verification and claims parse
+    @PostConstruct
+    public void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt.verified-tokens");
+    }
+
+    // What the filter needs from a token, with the authorities built once per token instead of per request
+    public record VerifiedToken(String userId, String role, long expiresAtMillis, List<GrantedAuthority> authorities) {
+    }
+
     public String generateToken(String userId, String role) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", role);
@@ -36,9 +92,29 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Parses and verifies the token once, then serves repeats from memory until the token expires.
+     * Empty for malformed, tampered or expired tokens and for tokens without a subject.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        String key = hash(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(key);
+        if (verified == null) {
+            try {
+                verified = toVerifiedToken(extractAllClaims(token));
+            } catch (JwtException | IllegalArgumentException e) {
+                return Optional.empty();
+            }
+            if (verified.userId() == null || verified.expiresAtMillis() <= System.currentTimeMillis()) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(key, verified);
+        }
+        return Optional.of(verified);
+    }
+
     public Boolean validateToken(String token, String userId) {
-        final String username = extractUsername(token);
-        return (username.equals(userId) && !isTokenExpired(token));
+        return verify(token).map(verified -> verified.userId().equals(userId)).orElse(false);
     }
 
     public String extractUsername(String token) {
@@ -62,7 +138,22 @@ public class JwtService {
         return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    // Tokens without an expiry are treated as already expired rather than cached forever
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        String role = claims.get("role", String.class);
+        List<GrantedAuthority> authorities = role != null
+                ? List.of(new SimpleGrantedAuthority("ROLE_" + role))
+                : Collections.emptyList();
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : 0;
+        return new VerifiedToken(claims.getSubject(), role, expiresAt, authorities);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
-} 
\ No newline at end of file
+}
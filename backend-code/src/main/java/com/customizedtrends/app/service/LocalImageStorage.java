@@ -0,0 +1,146 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.ProcessedImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+
+// Stores images on local disk and serves them through ImageFileController; no remote service needed
+@Service
+@ConditionalOnProperty(name = "app.image.storage", havingValue = "local")
+public class LocalImageStorage implements ImageStorage {
+    private static final Logger logger = LoggerFactory.getLogger(LocalImageStorage.class);
+
+    private static final String THUMBNAIL_SUFFIX = "_thumb";
+    private static final String OPTIMIZED_SUFFIX = "_opt";
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+        "image/jpeg", "jpg",
+        "image/png", "png",
+        "image/gif", "gif",
+        "image/webp", "webp"
+    );
+
+    private final Path root;
+    private final String baseUrl;
+
+    @Value("${app.image.storage.local.optimized-size:800}")
+    private int optimizedSize;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Autowired
+    private ImageUploadMetrics uploadMetrics;
+
+    public LocalImageStorage(
+            @Value("${app.image.storage.local.root:uploads}") String root,
+            @Value("${app.image.storage.local.base-url:http://localhost:8081/api/images}") String baseUrl) throws IOException {
+        this.root = Paths.get(root).toAbsolutePath().normalize();
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        Files.createDirectories(this.root);
+        logger.info("Storing images locally under {}", this.root);
+    }
+
+    // Writes the image plus thumbnail and optimized variants, all derived from the one decoded image
+    @Override
+    public String uploadImage(ProcessedImage image, String folder) throws IOException {
+        return uploadMetrics.record("local", folder, image, () -> store(image, folder));
+    }
+
+    private String store(ProcessedImage image, String folder) throws IOException {
+        String extension = EXTENSIONS.getOrDefault(image.getContentType(), "bin");
+        String name = UUID.randomUUID().toString();
+        Path directory = resolve(folder);
+        if (directory == null) {
+            throw new IOException("Invalid image folder: " + folder);
+        }
+        Files.createDirectories(directory);
+
+        write(directory.resolve(name + "." + extension), image.getData());
+        write(directory.resolve(name + THUMBNAIL_SUFFIX + "." + extension),
+            imageProcessingService.createThumbnail(image).getData());
+        write(directory.resolve(name + OPTIMIZED_SUFFIX + "." + extension),
+            imageProcessingService.createVariant(image, optimizedSize).getData());
+
+        return baseUrl + "/" + folder + "/" + name + "." + extension;
+    }
+
+    // Thumbnails are pre-generated at the configured size, so the requested dimensions are advisory
+    @Override
+    public String generateThumbnailUrl(String originalUrl, int width, int height) {
+        return variantUrl(originalUrl, THUMBNAIL_SUFFIX);
+    }
+
+    @Override
+    public String generateOptimizedUrl(String originalUrl) {
+        return variantUrl(originalUrl, OPTIMIZED_SUFFIX);
+    }
+
+    @Override
+    public void deleteImageByUrl(String imageUrl) throws IOException {
+        for (String url : new String[] {imageUrl, variantUrl(imageUrl, THUMBNAIL_SUFFIX), variantUrl(imageUrl, OPTIMIZED_SUFFIX)}) {
+            Path file = resolveUrl(url);
+            if (file != null) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    // Maps a path below the storage root to a file, rejecting anything that escapes the root
+    public Path resolve(String relativePath) {
+        Path resolved = root.resolve(relativePath).normalize();
+        return resolved.startsWith(root) && !resolved.equals(root) ? resolved : null;
+    }
+
+    public String contentTypeOf(Path file) {
+        String fileName = file.getFileName().toString();
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+        return EXTENSIONS.entrySet().stream()
+            .filter(entry -> entry.getValue().equals(extension))
+            .map(Map.Entry::getKey)
+            .findFirst()
+            .orElse("application/octet-stream");
+    }
+
+    private Path resolveUrl(String url) {
+        if (url == null || !url.startsWith(baseUrl + "/")) {
+            return null;
+        }
+        return resolve(url.substring(baseUrl.length() + 1));
+    }
+
+    // Only URLs this storage produced have variants; anything else (e.g. seeded placeholders) is returned as is
+    private String variantUrl(String originalUrl, String suffix) {
+        if (originalUrl == null || !originalUrl.startsWith(baseUrl + "/")) {
+            return originalUrl;
+        }
+        int dot = originalUrl.lastIndexOf('.');
+        if (dot <= baseUrl.length()) {
+            return originalUrl;
+        }
+        return originalUrl.substring(0, dot) + suffix + originalUrl.substring(dot);
+    }
+
+    // Write to a temp file and move it into place so readers never see a partial image
+    private static void write(Path target, byte[] data) throws IOException {
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temp, data);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.customizedtrends.app.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Fixed-window limits on failed logins: per account and client address (guessing one password) and per
+ * address (spraying many accounts). Only failures count, so shared addresses behind NAT are not throttled
+ * by successful logins, and a stranger's failures cannot lock an account for its owner on another address.
+ * Guesses spread over many addresses are caught by an account-wide count: past its threshold every further
+ * failure doubles the wait before the next attempt, up to a cap, so the account is slowed but never locked.
+ * Windows start at the first failure.
+ */
+@Service
+public class LoginThrottle {
+    private static final long BACKOFF_BASE_NANOS = Duration.ofSeconds(1).toNanos();
+
+    private final int maxFailuresPerAccount;
+    private final int maxFailuresPerAddress;
+    private final int accountBackoffAfter;
+    private final long accountBackoffMaxNanos;
+    private final Duration window;
+    private final LongSupplier nanoTime;
+    private final Cache<String, AtomicInteger> accountFailures;
+    private final Cache<String, AtomicInteger> addressFailures;
+    private final Cache<String, AccountBackoff> accountBackoffs;
+    private final Counter throttled;
+
+    @Autowired
+    public LoginThrottle(
+            @Value("${app.auth.throttle.max-failures-per-account:5}") int maxFailuresPerAccount,
+            @Value("${app.auth.throttle.max-failures-per-address:30}") int maxFailuresPerAddress,
+            @Value("${app.auth.throttle.account-backoff-after:20}") int accountBackoffAfter,
+            @Value("${app.auth.throttle.account-backoff-max:PT1M}") Duration accountBackoffMax,
+            @Value("${app.auth.throttle.window:PT15M}") Duration window,
+            MeterRegistry meterRegistry) {
+        this(maxFailuresPerAccount, maxFailuresPerAddress, accountBackoffAfter, accountBackoffMax, window,
+            meterRegistry, System::nanoTime);
+    }
+
+    LoginThrottle(int maxFailuresPerAccount, int maxFailuresPerAddress, int accountBackoffAfter,
+                  Duration accountBackoffMax, Duration window, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.maxFailuresPerAccount = maxFailuresPerAccount;
+        this.maxFailuresPerAddress = maxFailuresPerAddress;
+        this.accountBackoffAfter = accountBackoffAfter;
+        this.accountBackoffMaxNanos = accountBackoffMax.toNanos();
+        this.window = window;
+        this.nanoTime = nanoTime;
+        this.accountFailures = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+        this.addressFailures = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+        this.accountBackoffs = Caffeine.newBuilder().expireAfterWrite(window).maximumSize(100_000).build();
+        this.throttled = Counter.builder("auth.login.throttled").register(meterRegistry);
+    }
+
+    // Failures against one account from any address, and when the next attempt is allowed
+    private static final class AccountBackoff {
+        private int failures;
+        private long nextAttemptNanos;
+    }
+
+    // False if the account (from this address) or the address has used up its failures, or the account is backing off
+    public boolean tryAcquire(String account, String address) {
+        if (exhausted(accountFailures, key(account, address), maxFailuresPerAccount)
+                || exhausted(addressFailures, address, maxFailuresPerAddress)
+                || backingOff(normalize(account))) {
+            throttled.increment();
+            return false;
+        }
+        return true;
+    }
+
+    public void recordFailure(String account, String address) {
+        accountFailures.get(key(account, address), k -> new AtomicInteger()).incrementAndGet();
+        addressFailures.get(address, k -> new AtomicInteger()).incrementAndGet();
+        AccountBackoff backoff = accountBackoffs.get(normalize(account), k -> new AccountBackoff());
+        synchronized (backoff) {
+            backoff.failures++;
+            int excess = backoff.failures - accountBackoffAfter;
+            if (excess >= 0) {
+                long delay = Math.min(BACKOFF_BASE_NANOS << Math.min(excess, 30), accountBackoffMaxNanos);
+                backoff.nextAttemptNanos = nanoTime.getAsLong() + delay;
+            }
+        }
+    }
+
+    public void recordSuccess(String account, String address) {
+        accountFailures.invalidate(key(account, address));
+        accountBackoffs.invalidate(normalize(account));
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    private static boolean exhausted(Cache<String, AtomicInteger> failures, String key, int max) {
+        AtomicInteger count = failures.getIfPresent(key);
+        return count != null && count.get() >= max;
+    }
+
+    private boolean backingOff(String account) {
+        AccountBackoff backoff = accountBackoffs.getIfPresent(account);
+        if (backoff == null) {
+            return false;
+        }
+        synchronized (backoff) {
+            return backoff.failures >= accountBackoffAfter && nanoTime.getAsLong() - backoff.nextAttemptNanos < 0;
+        }
+    }
+
+    private static String key(String account, String address) {
+        return normalize(account) + "|" + address;
+    }
+
+    private static String normalize(String account) {
+        return account.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,279 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.RenderedMockup;
+import com.customizedtrends.app.mockup.LruCache;
+import com.customizedtrends.app.mockup.MockupRenderer;
+import com.customizedtrends.app.model.Design;
+import com.customizedtrends.app.model.DesignedTshirt;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.model.TshirtImage;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+
+@Service
+public class MockupService {
+    private static final Logger logger = LoggerFactory.getLogger(MockupService.class);
+
+    private static final Map<String, String> FORMATS = Map.of(
+        "jpeg", "image/jpeg",
+        "jpg", "image/jpeg",
+        "png", "image/png",
+        "webp", "image/webp"
+    );
+
+    @Value("${app.mockup.sizes:200,400,800}")
+    private int[] sizes;
+
+    @Value("${app.mockup.cache.max-bytes:67108864}")
+    private long cacheMaxBytes;
+
+    @Value("${app.mockup.source-cache.max-bytes:134217728}")
+    private long sourceCacheMaxBytes;
+
+    @Value("${app.mockup.fetch-timeout-ms:5000}")
+    private int fetchTimeoutMs;
+
+    @Autowired
+    private ImageProcessingService imageProcessingService;
+
+    @Autowired
+    private TshirtService tshirtService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final MockupRenderer renderer = new MockupRenderer();
+    // Encoded outputs keyed by the hash of everything that affects the pixels
+    private LruCache<String, RenderedMockup> renders;
+    // Decoded base t-shirt and design images keyed by URL; uploaded URLs never change content
+    private LruCache<String, BufferedImage> sources;
+    // Concurrent requests for the same mockup wait for one render instead of each doing it
+    private final Map<String, CompletableFuture<RenderedMockup>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        Arrays.sort(sizes);
+        renders = new LruCache<>(cacheMaxBytes, mockup -> mockup.getData().length);
+        sources = new LruCache<>(sourceCacheMaxBytes, image -> (long) image.getWidth() * image.getHeight() * 4);
+        monitor(renders, "mockup.renders");
+        monitor(sources, "mockup.sources");
+    }
+
+    // Same meter names as the Caffeine caches, so one hit-ratio query covers every cache
+    private void monitor(LruCache<?, ?> cache, String name) {
+        FunctionCounter.builder("cache.gets", cache, LruCache::hits).tags("cache", name, "result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", cache, LruCache::misses).tags("cache", name, "result", "miss").register(meterRegistry);
+        Gauge.builder("cache.size", cache, LruCache::size).tag("cache", name).register(meterRegistry);
+        Gauge.builder("mockup.cache.weight", cache, LruCache::weight).tag("cache", name).baseUnit("bytes").register(meterRegistry);
+    }
+
+    // Mockup of a saved designed t-shirt on the matching base t-shirt; empty if either image is missing
+    public Optional<RenderedMockup> renderDesignedTshirt(DesignedTshirt designedTshirt, int size, String format) throws IOException {
+        if (designedTshirt.getDesign() == null || designedTshirt.getDesign().getImageUrl() == null) {
+            return Optional.empty();
+        }
+        String tshirtImageUrl = findBaseImageUrl(designedTshirt);
+        if (tshirtImageUrl == null) {
+            return Optional.empty();
+        }
+        return Optional.of(render(tshirtImageUrl, designedTshirt.getDesign().getImageUrl(),
+            designedTshirt.getDesignZoom(),
+            designedTshirt.getDesignPositionX() != null ? designedTshirt.getDesignPositionX().doubleValue() : null,
+            designedTshirt.getDesignPositionY() != null ? designedTshirt.getDesignPositionY().doubleValue() : null,
+            parseZoom(designedTshirt.getTshirtZoom()), size, format));
+    }
+
+    // Live preview of a gallery design on a base t-shirt, as positioned in the customizer
+    public Optional<RenderedMockup> renderDesignOnTshirt(Tshirt tshirt, Design design, Double designZoom,
+                                                         Double x, Double y, Double tshirtZoom, int size, String format) throws IOException {
+        String tshirtImageUrl = mainImageUrl(tshirt);
+        if (tshirtImageUrl == null || design.getImageUrl() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(render(tshirtImageUrl, design.getImageUrl(), designZoom, x, y, tshirtZoom, size, format));
+    }
+
+    public RenderedMockup render(String tshirtImageUrl, String designImageUrl, Double designZoom,
+                                 Double x, Double y, Double tshirtZoom, int size, String format) throws IOException {
+        double zoom = designZoom != null ? designZoom : 1.0;
+        double posX = x != null ? x : MockupRenderer.DEFAULT_X;
+        double posY = y != null ? y : MockupRenderer.DEFAULT_Y;
+        double baseZoom = tshirtZoom != null ? tshirtZoom : 1.0;
+        int width = snapSize(size);
+        String contentType = resolveContentType(format);
+
+        String key = contentAddress(tshirtImageUrl, designImageUrl, zoom, posX, posY, baseZoom, width, contentType);
+        RenderedMockup cached = renders.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<RenderedMockup> future = new CompletableFuture<>();
+        CompletableFuture<RenderedMockup> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            BufferedImage tshirt = loadSource(tshirtImageUrl);
+            BufferedImage design = loadSource(designImageUrl);
+            BufferedImage composite = renderer.render(tshirt, design, zoom, posX, posY, baseZoom, width);
+            RenderedMockup mockup = new RenderedMockup(imageProcessingService.encode(composite, contentType), contentType, key);
+            renders.put(key, mockup);
+            future.complete(mockup);
+            return mockup;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    public Map<String, Object> getCacheStats() {
+        return Map.of(
+            "entries", renders.size(),
+            "bytes", renders.weight(),
+            "hits", renders.hits(),
+            "misses", renders.misses(),
+            "sourceEntries", sources.size(),
+            "sourceBytes", sources.weight()
+        );
+    }
+
+    // Only a few widths are rendered so arbitrary sizes cannot blow up the cache
+    int snapSize(int requested) {
+        for (int size : sizes) {
+            if (size >= requested) {
+                return size;
+            }
+        }
+        return sizes[sizes.length - 1];
+    }
+
+    // Falls back to JPEG when no WebP writer is installed
+    private String resolveContentType(String format) {
+        String contentType = FORMATS.getOrDefault(format == null ? "jpeg" : format.toLowerCase(Locale.ROOT), "image/jpeg");
+        if ("image/webp".equals(contentType) && !imageProcessingService.canEncode(contentType)) {
+            return "image/jpeg";
+        }
+        return contentType;
+    }
+
+    private BufferedImage loadSource(String url) throws IOException {
+        BufferedImage image = sources.get(url);
+        if (image != null) {
+            return image;
+        }
+        URLConnection connection = URI.create(url).toURL().openConnection();
+        connection.setConnectTimeout(fetchTimeoutMs);
+        connection.setReadTimeout(fetchTimeoutMs);
+        try (InputStream in = connection.getInputStream()) {
+            image = ImageIO.read(in);
+        }
+        if (image == null) {
+            throw new IOException("Unsupported image format: " + url);
+        }
+        image = toCompatible(image);
+        sources.put(url, image);
+        return image;
+    }
+
+    private String findBaseImageUrl(DesignedTshirt designedTshirt) {
+        if (designedTshirt.getBrand() == null || designedTshirt.getColor() == null) {
+            return null;
+        }
+        List<Tshirt> tshirts = tshirtService.findAllByBrandColorGender(
+            designedTshirt.getBrand().getName(), designedTshirt.getColor().getName(), designedTshirt.getGender());
+        for (Tshirt tshirt : tshirts) {
+            String url = mainImageUrl(tshirt);
+            if (url != null) {
+                return url;
+            }
+        }
+        return null;
+    }
+
+    private static String mainImageUrl(Tshirt tshirt) {
+        if (tshirt.getImages() != null) {
+            for (TshirtImage image : tshirt.getImages()) {
+                if (image.getIsMain() && image.getImageUrl() != null) {
+                    return image.getImageUrl();
+                }
+            }
+            if (!tshirt.getImages().isEmpty() && tshirt.getImages().get(0).getImageUrl() != null) {
+                return tshirt.getImages().get(0).getImageUrl();
+            }
+        }
+        return tshirt.getImageUrl();
+    }
+
+    // Decoders often return custom or indexed layouts that Java2D draws through a slow generic path
+    private static BufferedImage toCompatible(BufferedImage image) {
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB_PRE : BufferedImage.TYPE_INT_RGB;
+        if (image.getType() == type) {
+            return image;
+        }
+        BufferedImage converted = new BufferedImage(image.getWidth(), image.getHeight(), type);
+        Graphics2D g = converted.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return converted;
+    }
+
+    private static Double parseZoom(String zoom) {
+        try {
+            return zoom != null ? Double.parseDouble(zoom.trim()) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static RenderedMockup await(CompletableFuture<RenderedMockup> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw cause instanceof IOException io ? io : new IOException("Mockup render failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static String contentAddress(String tshirtImageUrl, String designImageUrl, double zoom,
+                                         double x, double y, double tshirtZoom, int width, String contentType) {
+        String canonical = String.join("|", tshirtImageUrl, designImageUrl, Double.toString(zoom),
+            Double.toString(x), Double.toString(y), Double.toString(tshirtZoom), Integer.toString(width), contentType);
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
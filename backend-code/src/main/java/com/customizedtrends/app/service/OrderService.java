@@ -1,18 +1,71 @@
 package com.customizedtrends.app.service;
 
+import com.customizedtrends.app.dto.CheckoutRequest;
+import com.customizedtrends.app.httpcache.EntityVersions;
+import com.customizedtrends.app.model.Design;
+import com.customizedtrends.app.model.DesignedTshirt;
 import com.customizedtrends.app.model.Order;
+import com.customizedtrends.app.model.OrderItem;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.repository.DesignRepository;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
 import com.customizedtrends.app.repository.OrderRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class OrderService {
+    private static final String INSERT_ORDER_ITEM =
+        "INSERT INTO order_item (order_id, tshirt_id, designed_tshirt_id, design_id, quantity, price, size) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    // Keeps a mistyped or malicious quantity from reserving a product's whole stock in one line
+    private static final int MAX_QUANTITY_PER_ITEM = 100;
+
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private TshirtRepository tshirtRepository;
+
+    @Autowired
+    private DesignRepository designRepository;
+
+    @Autowired
+    private DesignedTshirtRepository designedTshirtRepository;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private EntityVersions entityVersions;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public List<Order> getAllOrders() {
         return orderRepository.findAll();
     }
@@ -25,8 +78,133 @@ public class OrderService {
         return orderRepository.findById(id);
     }
 
-    public Order createOrder(Order order) {
-        return orderRepository.save(order);
+    /**
+     * Places an order in one transaction: one lookup each for the t-shirts, designed t-shirts and designs, prices
+     * taken from the catalog, stock reserved with conditional updates and the items inserted as a single JDBC batch.
+     * Any unknown product or short stock rolls the whole order back.
+     */
+    @Transactional
+    public Order checkout(Long userId, CheckoutRequest request) {
+        List<CheckoutRequest.Item> requested = request.getItems();
+        if (requested == null || requested.isEmpty()) {
+            throw new RuntimeException("Order has no items");
+        }
+        for (CheckoutRequest.Item item : requested) {
+            if ((item.getTshirtId() == null) == (item.getDesignedTshirtId() == null)) {
+                throw new RuntimeException("Every item needs either a tshirtId or a designedTshirtId");
+            }
+            if (item.getQuantity() == null || item.getQuantity() < 1 || item.getQuantity() > MAX_QUANTITY_PER_ITEM) {
+                throw new RuntimeException("Quantity must be between 1 and " + MAX_QUANTITY_PER_ITEM);
+            }
+        }
+
+        Map<Long, Tshirt> tshirts = byId(tshirtRepository.findAllById(
+            idsOf(requested, CheckoutRequest.Item::getTshirtId)), Tshirt::getId);
+        Map<Long, DesignedTshirt> designedTshirts = byId(designedTshirtRepository.findAllById(
+            idsOf(requested, CheckoutRequest.Item::getDesignedTshirtId)), DesignedTshirt::getId);
+        Map<Long, Design> designs = byId(designRepository.findAllById(
+            idsOf(requested, CheckoutRequest.Item::getDesignId)), Design::getId);
+
+        // Quantities per product, reserved in id order so concurrent checkouts lock rows in the same order
+        Map<Long, Integer> tshirtQuantities = new TreeMap<>();
+        Map<Long, Integer> designedQuantities = new TreeMap<>();
+        List<OrderItem> items = new ArrayList<>();
+        double total = 0;
+        for (CheckoutRequest.Item requestedItem : requested) {
+            OrderItem item = new OrderItem();
+            double price;
+            if (requestedItem.getDesignedTshirtId() != null) {
+                DesignedTshirt designedTshirt = designedTshirts.get(requestedItem.getDesignedTshirtId());
+                if (designedTshirt == null || !Boolean.TRUE.equals(designedTshirt.getIsActive())) {
+                    throw new RuntimeException("Designed t-shirt not found with id: " + requestedItem.getDesignedTshirtId());
+                }
+                if (designedTshirt.getPrice() == null) {
+                    throw new RuntimeException("Designed t-shirt " + designedTshirt.getId() + " has no price");
+                }
+                // The design is part of the product, whatever the cart says
+                item.setDesignedTshirt(designedTshirt);
+                item.setDesign(designedTshirt.getDesign());
+                price = designedTshirt.getPrice();
+                if (designedTshirt.getStock() != null) {
+                    designedQuantities.merge(designedTshirt.getId(), requestedItem.getQuantity(), Integer::sum);
+                }
+            } else {
+                Tshirt tshirt = tshirts.get(requestedItem.getTshirtId());
+                if (tshirt == null) {
+                    throw new RuntimeException("T-shirt not found with id: " + requestedItem.getTshirtId());
+                }
+                if (tshirt.getPrice() == null) {
+                    throw new RuntimeException("T-shirt " + tshirt.getId() + " has no price");
+                }
+                if (requestedItem.getDesignId() != null) {
+                    Design design = designs.get(requestedItem.getDesignId());
+                    if (design == null) {
+                        throw new RuntimeException("Design not found with id: " + requestedItem.getDesignId());
+                    }
+                    item.setDesign(design);
+                }
+                item.setTshirt(tshirt);
+                price = tshirt.getPrice();
+                if (tshirt.getStock() != null) {
+                    tshirtQuantities.merge(tshirt.getId(), requestedItem.getQuantity(), Integer::sum);
+                }
+            }
+            item.setQuantity(requestedItem.getQuantity());
+            item.setPrice(price);
+            item.setSize(requestedItem.getSize());
+            items.add(item);
+            total += price * requestedItem.getQuantity();
+        }
+
+        // Stock is only tracked for products that have a stock level set
+        for (Map.Entry<Long, Integer> reservation : tshirtQuantities.entrySet()) {
+            if (tshirtRepository.reserveStock(reservation.getKey(), reservation.getValue()) == 0) {
+                throw new RuntimeException("Not enough stock for t-shirt " + tshirts.get(reservation.getKey()).getName());
+            }
+        }
+        for (Map.Entry<Long, Integer> reservation : designedQuantities.entrySet()) {
+            if (designedTshirtRepository.reserveStock(reservation.getKey(), reservation.getValue()) == 0) {
+                throw new RuntimeException("Not enough stock for t-shirt " + designedTshirts.get(reservation.getKey()).getName());
+            }
+        }
+
+        Order order = new Order();
+        order.setUserId(userId);
+        order.setCustomerName(request.getCustomerName());
+        order.setAddress(request.resolveAddress());
+        order.setStatus("PENDING");
+        order.setCreatedAt(LocalDateTime.now());
+        order.setTotal(total);
+        order.setItems(new ArrayList<>());
+        Order saved = orderRepository.saveAndFlush(order);
+
+        // IDENTITY ids stop Hibernate from batching inserts, so the items go through JDBC in one batch
+        jdbcTemplate.batchUpdate(INSERT_ORDER_ITEM, items, items.size(), (statement, item) -> {
+            statement.setLong(1, saved.getId());
+            setId(statement, 2, item.getTshirt() != null ? item.getTshirt().getId() : null);
+            setId(statement, 3, item.getDesignedTshirt() != null ? item.getDesignedTshirt().getId() : null);
+            setId(statement, 4, item.getDesign() != null ? item.getDesign().getId() : null);
+            statement.setInt(5, item.getQuantity());
+            statement.setDouble(6, item.getPrice());
+            statement.setString(7, item.getSize());
+        });
+        entityManager.refresh(saved);
+        Hibernate.initialize(saved.getItems());
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The stock updates bypass entity events, so cached t-shirt responses are invalidated here
+                if (!tshirtQuantities.isEmpty()) {
+                    entityVersions.touch(Tshirt.class);
+                }
+                if (!designedQuantities.isEmpty()) {
+                    entityVersions.touch(DesignedTshirt.class);
+                }
+                trendingService.recordOrder(saved);
+            }
+        });
+        return saved;
     }
 
     public Order updateOrder(Long id, Order updatedOrder) {
@@ -45,4 +223,20 @@ public class OrderService {
     public void deleteOrder(Long id) {
         orderRepository.deleteById(id);
     }
-} 
\ No newline at end of file
+
+    private static Set<Long> idsOf(List<CheckoutRequest.Item> items, Function<CheckoutRequest.Item, Long> id) {
+        return items.stream().map(id).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private static void setId(PreparedStatement statement, int index, Long id) throws SQLException {
+        if (id != null) {
+            statement.setLong(index, id);
+        } else {
+            statement.setNull(index, Types.BIGINT);
+        }
+    }
+
+    private static <T> Map<Long, T> byId(List<T> entities, Function<T, Long> id) {
+        return entities.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.customizedtrends.app.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+// BCrypt on the bounded auth pool. Callers wait for the result; a full pool throws TaskRejectedException.
+@Service
+public class PasswordHasher {
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    @Autowired
+    @Qualifier("authExecutor")
+    private ThreadPoolTaskExecutor authExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Timer encodeTimer;
+    private Timer matchTimer;
+
+    @PostConstruct
+    public void registerMetrics() {
+        encodeTimer = hashTimer("encode");
+        matchTimer = hashTimer("matches");
+        Gauge.builder("auth.executor.queued", authExecutor, executor -> executor.getThreadPoolExecutor().getQueue().size())
+            .description("Password hashes waiting for an auth thread")
+            .register(meterRegistry);
+        Gauge.builder("auth.executor.active", authExecutor, ThreadPoolTaskExecutor::getActiveCount)
+            .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(matchTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T run(Timer timer, Supplier<T> hash) {
+        Future<T> result = authExecutor.submit(() -> timer.record(hash));
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException("Password hashing failed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskRejectedException("Interrupted while waiting for password hashing");
+        }
+    }
+
+    private Timer hashTimer(String operation) {
+        return Timer.builder("auth.password.hash")
+            .description("Time spent in BCrypt, excluding time queued for an auth thread")
+            .tag("operation", operation)
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,150 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.model.DesignedTshirt;
+import com.customizedtrends.app.model.Order;
+import com.customizedtrends.app.model.OrderItem;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
+import com.customizedtrends.app.repository.OrderRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import com.customizedtrends.app.trending.DecayingTopK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import jakarta.annotation.PostConstruct;
+
+// Trending = exponentially decayed order volume and detail-page views, ranked in memory
+@Service
+public class TrendingService {
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    @Value("${app.trending.half-life:PT24H}")
+    private Duration halfLife;
+
+    @Value("${app.trending.order-weight:5}")
+    private double orderWeight;
+
+    @Value("${app.trending.view-weight:1}")
+    private double viewWeight;
+
+    // Orders older than this have decayed to noise and are not replayed on startup
+    @Value("${app.trending.replay-window:P14D}")
+    private Duration replayWindow;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TshirtRepository tshirtRepository;
+
+    @Autowired
+    private DesignedTshirtRepository designedTshirtRepository;
+
+    private DecayingTopK tshirtScores;
+    private DecayingTopK designedTshirtScores;
+
+    @PostConstruct
+    public void init() {
+        long now = System.currentTimeMillis();
+        tshirtScores = new DecayingTopK(halfLife.toMillis(), now);
+        designedTshirtScores = new DecayingTopK(halfLife.toMillis(), now);
+    }
+
+    // Replay recent orders so the ranking survives restarts; views are not persisted
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        tshirtScores.clear();
+        designedTshirtScores.clear();
+        List<Order> orders = orderRepository.findWithItemsByCreatedAtAfter(LocalDateTime.now().minus(replayWindow));
+        orders.forEach(this::recordOrder);
+        logger.info("Trending scores rebuilt from {} orders", orders.size());
+    }
+
+    public void recordOrder(Order order) {
+        if (order.getItems() == null) {
+            return;
+        }
+        long at = order.getCreatedAt() != null
+            ? order.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+            : System.currentTimeMillis();
+        for (OrderItem item : order.getItems()) {
+            int quantity = item.getQuantity() != null ? Math.max(item.getQuantity(), 1) : 1;
+            if (item.getTshirt() != null && item.getTshirt().getId() != null) {
+                tshirtScores.record(item.getTshirt().getId(), orderWeight * quantity, at);
+            } else if (item.getDesignedTshirt() != null && item.getDesignedTshirt().getId() != null) {
+                designedTshirtScores.record(item.getDesignedTshirt().getId(), orderWeight * quantity, at);
+            }
+        }
+    }
+
+    public void recordTshirtView(Long tshirtId) {
+        tshirtScores.record(tshirtId, viewWeight, System.currentTimeMillis());
+    }
+
+    public void recordDesignedTshirtView(Long designedTshirtId) {
+        designedTshirtScores.record(designedTshirtId, viewWeight, System.currentTimeMillis());
+    }
+
+    public void removeTshirt(Long tshirtId) {
+        tshirtScores.remove(tshirtId);
+    }
+
+    public void removeDesignedTshirt(Long designedTshirtId) {
+        designedTshirtScores.remove(designedTshirtId);
+    }
+
+    // Top k by score, topped up with featured products while there is not enough activity yet
+    public List<Tshirt> getTrendingTshirts(int k) {
+        List<Long> ids = new ArrayList<>(tshirtScores.top(k));
+        if (ids.size() < k) {
+            tshirtRepository.findByFeaturedTrue(PageRequest.of(0, k))
+                .forEach(t -> addIfAbsent(ids, t.getId(), k));
+        }
+        return inOrder(ids, tshirtRepository.findAllById(ids), Tshirt::getId);
+    }
+
+    public List<DesignedTshirt> getTrendingDesignedTshirts(int k) {
+        List<Long> ids = new ArrayList<>(designedTshirtScores.top(k));
+        if (ids.size() < k) {
+            designedTshirtRepository.findByFeaturedTrueAndIsActiveTrue(PageRequest.of(0, k))
+                .forEach(t -> addIfAbsent(ids, t.getId(), k));
+        }
+        List<DesignedTshirt> trending = inOrder(ids, designedTshirtRepository.findAllById(ids), DesignedTshirt::getId);
+        trending.removeIf(dt -> !Boolean.TRUE.equals(dt.getIsActive()));
+        return trending;
+    }
+
+    private static void addIfAbsent(List<Long> ids, Long id, int k) {
+        if (ids.size() < k && !ids.contains(id)) {
+            ids.add(id);
+        }
+    }
+
+    private static <T> List<T> inOrder(List<Long> ids, Iterable<T> rows, Function<T, Long> idOf) {
+        Map<Long, T> byId = new HashMap<>();
+        rows.forEach(row -> byId.put(idOf.apply(row), row));
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T row = byId.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+}
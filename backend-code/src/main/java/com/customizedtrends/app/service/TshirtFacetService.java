@@ -0,0 +1,221 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.repository.BrandRepository;
+import com.customizedtrends.app.repository.ColorRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// Keeps brand x color x gender counts of t-shirts in memory so the filter panel never hits the database
+@Service
+public class TshirtFacetService {
+    private static final Logger logger = LoggerFactory.getLogger(TshirtFacetService.class);
+
+    @Autowired
+    private TshirtRepository tshirtRepository;
+
+    @Autowired
+    private BrandRepository brandRepository;
+
+    @Autowired
+    private ColorRepository colorRepository;
+
+    private record FacetKey(Long brandId, Long colorId, String gender) {}
+
+    private final Map<Long, FacetKey> keysByTshirt = new HashMap<>();
+    private final Map<FacetKey, Integer> counts = new HashMap<>();
+    private final Map<Long, Brand> brands = new HashMap<>();
+    private final Map<Long, Color> colors = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        keysByTshirt.clear();
+        counts.clear();
+        brands.clear();
+        colors.clear();
+        tshirtRepository.findAll().forEach(this::add);
+        logger.info("T-shirt facets built: {} t-shirts, {} combinations", keysByTshirt.size(), counts.size());
+    }
+
+    public synchronized void add(Tshirt tshirt) {
+        remove(tshirt.getId());
+        if (tshirt.getBrand() == null || tshirt.getColor() == null) {
+            return;
+        }
+        brands.put(tshirt.getBrand().getId(), brandSnapshot(tshirt.getBrand()));
+        colors.put(tshirt.getColor().getId(), colorSnapshot(tshirt.getColor()));
+        FacetKey key = new FacetKey(tshirt.getBrand().getId(), tshirt.getColor().getId(), tshirt.getGender());
+        keysByTshirt.put(tshirt.getId(), key);
+        counts.merge(key, 1, Integer::sum);
+    }
+
+    // A t-shirt saved from a request body may reference its brand or color by id only,
+    // so the name comes from the snapshot already held or from the stored row
+    private Brand brandSnapshot(Brand brand) {
+        if (brand.getName() != null) {
+            return copyOf(brand);
+        }
+        Brand known = brands.get(brand.getId());
+        if (known != null) {
+            return known;
+        }
+        return copyOf(brandRepository.findById(brand.getId()).orElse(brand));
+    }
+
+    private Color colorSnapshot(Color color) {
+        if (color.getName() != null) {
+            return copyOf(color);
+        }
+        Color known = colors.get(color.getId());
+        if (known != null) {
+            return known;
+        }
+        return copyOf(colorRepository.findById(color.getId()).orElse(color));
+    }
+
+    public synchronized void remove(Long tshirtId) {
+        FacetKey key = keysByTshirt.remove(tshirtId);
+        if (key != null) {
+            counts.computeIfPresent(key, (k, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    // Keep names in sync when a brand or color is renamed
+    public synchronized void refreshBrand(Brand brand) {
+        brands.computeIfPresent(brand.getId(), (id, old) -> copyOf(brand));
+    }
+
+    public synchronized void refreshColor(Color color) {
+        colors.computeIfPresent(color.getId(), (id, old) -> copyOf(color));
+    }
+
+    public synchronized List<Color> getAvailableColors(String brand, String gender) {
+        Map<Long, Integer> colorCounts = new HashMap<>();
+        counts.forEach((key, count) -> {
+            if (matches(key, brand, null, gender)) {
+                colorCounts.merge(key.colorId(), count, Integer::sum);
+            }
+        });
+        return colorCounts.keySet().stream()
+            .map(colors::get)
+            .sorted(Comparator.comparing(Color::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+            .toList();
+    }
+
+    public synchronized List<Brand> getAvailableBrands(String gender) {
+        Map<Long, Integer> brandCounts = new HashMap<>();
+        counts.forEach((key, count) -> {
+            if (matches(key, null, null, gender)) {
+                brandCounts.merge(key.brandId(), count, Integer::sum);
+            }
+        });
+        return brandCounts.keySet().stream()
+            .map(brands::get)
+            .sorted(Comparator.comparing(Brand::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+            .toList();
+    }
+
+    // Each facet is counted with the other selected filters applied but not its own,
+    // so the panel can show how many results switching a value would give
+    public synchronized Map<String, Object> getFacets(String brand, String color, String gender) {
+        Map<Long, Integer> brandCounts = new HashMap<>();
+        Map<Long, Integer> colorCounts = new HashMap<>();
+        Map<String, Integer> genderCounts = new HashMap<>();
+        int total = 0;
+        for (Map.Entry<FacetKey, Integer> entry : counts.entrySet()) {
+            FacetKey key = entry.getKey();
+            int count = entry.getValue();
+            if (matches(key, null, color, gender)) {
+                brandCounts.merge(key.brandId(), count, Integer::sum);
+            }
+            if (matches(key, brand, null, gender)) {
+                colorCounts.merge(key.colorId(), count, Integer::sum);
+            }
+            if (key.gender() != null && matches(key, brand, color, null)) {
+                genderCounts.merge(key.gender(), count, Integer::sum);
+            }
+            if (matches(key, brand, color, gender)) {
+                total += count;
+            }
+        }
+
+        List<Map<String, Object>> brandFacets = new ArrayList<>();
+        brandCounts.forEach((id, count) -> {
+            Map<String, Object> facet = new LinkedHashMap<>();
+            facet.put("id", id);
+            facet.put("name", brands.get(id).getName());
+            facet.put("count", count);
+            brandFacets.add(facet);
+        });
+        List<Map<String, Object>> colorFacets = new ArrayList<>();
+        colorCounts.forEach((id, count) -> {
+            Map<String, Object> facet = new LinkedHashMap<>();
+            facet.put("id", id);
+            facet.put("name", colors.get(id).getName());
+            facet.put("hexCode", colors.get(id).getHexCode());
+            facet.put("count", count);
+            colorFacets.add(facet);
+        });
+        List<Map<String, Object>> genderFacets = new ArrayList<>();
+        genderCounts.forEach((name, count) -> {
+            Map<String, Object> facet = new LinkedHashMap<>();
+            facet.put("name", name);
+            facet.put("count", count);
+            genderFacets.add(facet);
+        });
+        Comparator<Map<String, Object>> byName =
+            Comparator.comparing(facet -> (String) facet.get("name"), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER));
+        brandFacets.sort(byName);
+        colorFacets.sort(byName);
+        genderFacets.sort(byName);
+
+        Map<String, Object> facets = new LinkedHashMap<>();
+        facets.put("total", total);
+        facets.put("brands", brandFacets);
+        facets.put("colors", colorFacets);
+        facets.put("genders", genderFacets);
+        return facets;
+    }
+
+    private boolean matches(FacetKey key, String brand, String color, String gender) {
+        if (hasText(brand) && !brand.equals(brands.get(key.brandId()).getName())) {
+            return false;
+        }
+        if (hasText(color) && !color.equals(colors.get(key.colorId()).getName())) {
+            return false;
+        }
+        return !hasText(gender) || Objects.equals(gender, key.gender());
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+
+    // Detached copies so cached values are never tied to a persistence context
+    private static Brand copyOf(Brand brand) {
+        Brand copy = new Brand(brand.getName());
+        copy.setId(brand.getId());
+        return copy;
+    }
+
+    private static Color copyOf(Color color) {
+        Color copy = new Color(color.getName(), color.getHexCode());
+        copy.setId(color.getId());
+        return copy;
+    }
+}
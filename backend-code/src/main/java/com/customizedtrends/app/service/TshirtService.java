@@ -6,18 +6,27 @@ import com.customizedtrends.app.model.Tshirt;
 import com.customizedtrends.app.repository.TshirtRepository;
 import com.customizedtrends.app.model.TshirtImage;
 import com.customizedtrends.app.repository.TshirtImageRepository;
+import com.customizedtrends.app.dto.ProductCard;
 import com.customizedtrends.app.dto.TshirtUploadDTO;
+import com.customizedtrends.app.paging.CatalogSort;
+import com.customizedtrends.app.paging.Cursor;
+import com.customizedtrends.app.paging.CursorPage;
+import com.customizedtrends.app.paging.KeysetRow;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.ArrayList;
+import java.util.function.BiFunction;
 import java.io.IOException;
 
 @Service
@@ -28,11 +37,24 @@ public class TshirtService {
     @Autowired
     private TshirtImageRepository tshirtImageRepository;
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private ImageUploadService imageUploadService;
     @Autowired
     private BrandService brandService;
     @Autowired
     private ColorService colorService;
+    @Autowired
+    private CatalogSearchService catalogSearchService;
+
+    @Autowired
+    private TrendingService trendingService;
+    @Autowired
+    private TshirtFacetService tshirtFacetService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
     public List<Tshirt> getAllTshirts() {
         return tshirtRepository.findAll();
@@ -43,7 +65,9 @@ public class TshirtService {
     }
 
     public Tshirt createTshirt(Tshirt tshirt) {
-        return tshirtRepository.save(tshirt);
+        Tshirt saved = tshirtRepository.save(tshirt);
+        onTshirtSaved(saved);
+        return saved;
     }
 
     public Tshirt updateTshirt(Long id, Tshirt updatedTshirt) {
@@ -70,13 +94,16 @@ public class TshirtService {
                 tshirt.setOptimizedUrl(updatedTshirt.getOptimizedUrl());
                 tshirt.setImageType(updatedTshirt.getImageType());
                 
-                return tshirtRepository.save(tshirt);
+                Tshirt saved = tshirtRepository.save(tshirt);
+                onTshirtSaved(saved);
+                return saved;
             })
             .orElseThrow(() -> new RuntimeException("Tshirt not found"));
     }
 
     public void deleteTshirt(Long id) {
         tshirtRepository.deleteById(id);
+        onTshirtDeleted(id);
     }
 
     public Page<Tshirt> getAllTshirts(Pageable pageable) {
@@ -92,7 +119,7 @@ public class TshirtService {
     }
     
     public Page<Tshirt> searchTshirts(String query, Pageable pageable) {
-        return tshirtRepository.searchTshirts(query, pageable);
+        return catalogSearchService.searchTshirts(query, pageable);
     }
     
     public Page<Tshirt> filterTshirts(String brand, String color, String gender, Pageable pageable) {
@@ -109,34 +136,74 @@ public class TshirtService {
         }
     }
 
+    // Same filters as getTshirtsWithFilters, but as card projections for product grids
+    public Page<ProductCard> getTshirtCardsWithFilters(String search, String brand, String color, String gender, Pageable pageable) {
+        if (!search.isEmpty()) {
+            return catalogSearchService.searchTshirtCards(search, pageable);
+        }
+        return tshirtRepository.findCards(brand, color, gender, pageable);
+    }
+
+    // Keyset pages: each page costs the same regardless of depth, unlike offsets which read and discard every earlier row
+    public CursorPage<Tshirt> getTshirtsAfter(String brand, String color, String gender,
+                                              CatalogSort sort, Sort.Direction direction, String cursor, int size) {
+        return keysetPage(cursor, size, sort, direction,
+            (after, limit) -> tshirtRepository.findAfter(brand, color, gender, sort, direction, after, limit));
+    }
+
+    public CursorPage<ProductCard> getTshirtCardsAfter(String brand, String color, String gender,
+                                                       CatalogSort sort, Sort.Direction direction, String cursor, int size) {
+        return keysetPage(cursor, size, sort, direction,
+            (after, limit) -> tshirtRepository.findCardsAfter(brand, color, gender, sort, direction, after, limit));
+    }
+
+    // Reads one row past the page to learn whether there is a next page, without counting
+    private static <T> CursorPage<T> keysetPage(String cursor, int size, CatalogSort sort, Sort.Direction direction,
+                                                BiFunction<Cursor, Integer, List<KeysetRow<T>>> finder) {
+        Cursor after = cursor.isEmpty() ? null : Cursor.decode(cursor, sort, direction);
+        List<KeysetRow<T>> rows = finder.apply(after, size + 1);
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+        List<T> content = rows.stream().map(KeysetRow::row).toList();
+        String nextCursor = hasNext ? rows.get(rows.size() - 1).position().encode() : null;
+        return new CursorPage<>(content, size, nextCursor);
+    }
+
     // Get available colors for a specific brand
     public List<Color> getAvailableColorsByBrand(String brandName) {
-        return tshirtRepository.findAvailableColorsByBrand(brandName);
+        return tshirtFacetService.getAvailableColors(brandName, null);
     }
 
     // Get available colors for a specific gender
     public List<Color> getAvailableColorsByGender(String gender) {
-        return tshirtRepository.findAvailableColorsByGender(gender);
+        return tshirtFacetService.getAvailableColors(null, gender);
     }
 
     // Get available colors for a specific brand and gender combination
     public List<Color> getAvailableColorsByBrandAndGender(String brandName, String gender) {
-        return tshirtRepository.findAvailableColorsByBrandAndGender(brandName, gender);
+        return tshirtFacetService.getAvailableColors(brandName, gender);
     }
 
     // Get all colors that have t-shirts
     public List<Color> getAllAvailableColors() {
-        return tshirtRepository.findAllAvailableColors();
+        return tshirtFacetService.getAvailableColors(null, null);
     }
 
     // Get available brands for a specific gender
     public List<Brand> getAvailableBrandsByGender(String gender) {
-        return tshirtRepository.findAvailableBrandsByGender(gender);
+        return tshirtFacetService.getAvailableBrands(gender);
     }
 
     // Get all brands that have t-shirts
     public List<Brand> getAllAvailableBrands() {
-        return tshirtRepository.findAllAvailableBrands();
+        return tshirtFacetService.getAvailableBrands(null);
+    }
+
+    // Brand, color and gender counts for the filter panel
+    public Map<String, Object> getFacets(String brand, String color, String gender) {
+        return tshirtFacetService.getFacets(brand, color, gender);
     }
 
     public List<Tshirt> findAllByBrandColorGender(String brand, String color, String gender) {
@@ -160,25 +227,33 @@ public class TshirtService {
         tshirt.setFeatured(dto.getFeatured() != null && dto.getFeatured());
         tshirt.setTags(dto.getTags());
         tshirt.setDescription(dto.getDescription());
-        // Save the tshirt first
-        Tshirt savedTshirt = tshirtRepository.save(tshirt);
-        // Handle multiple images
-        if (images != null && !images.isEmpty()) {
-            List<TshirtImage> imageEntities = new ArrayList<>();
-            for (int i = 0; i < images.size(); i++) {
-                MultipartFile image = images.get(i);
-                if (image != null && !image.isEmpty()) {
-                    String imageUrl = cloudinaryService.uploadImage(image, "tshirts");
-                    TshirtImage tshirtImage = new TshirtImage();
-                    tshirtImage.setImageUrl(imageUrl);
-                    tshirtImage.setTshirt(savedTshirt);
-                    tshirtImage.setIsMain(mainImageIndex != null ? (i == mainImageIndex) : (i == 0));
-                    imageEntities.add(tshirtImageRepository.save(tshirtImage));
+        // Upload all images concurrently before touching the database
+        List<String> imageUrls = images != null ? imageUploadService.uploadAll(images, "tshirts") : List.of();
+        Tshirt savedTshirt;
+        try {
+            // The t-shirt and its images commit together; on rollback the uploaded files are removed below
+            savedTshirt = transactionTemplate.execute(status -> {
+                Tshirt saved = tshirtRepository.save(tshirt);
+                List<TshirtImage> imageEntities = new ArrayList<>();
+                for (int i = 0; i < imageUrls.size(); i++) {
+                    if (imageUrls.get(i) != null) {
+                        TshirtImage tshirtImage = new TshirtImage();
+                        tshirtImage.setImageUrl(imageUrls.get(i));
+                        tshirtImage.setTshirt(saved);
+                        tshirtImage.setIsMain(mainImageIndex != null ? (i == mainImageIndex) : (i == 0));
+                        imageEntities.add(tshirtImage);
+                    }
                 }
-            }
-            savedTshirt.setImages(imageEntities);
-            tshirtRepository.save(savedTshirt);
+                if (!imageEntities.isEmpty()) {
+                    saved.setImages(tshirtImageRepository.saveAll(imageEntities));
+                }
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            imageUploadService.deleteAll(imageUrls);
+            throw e;
         }
+        onTshirtSaved(savedTshirt);
         return savedTshirt;
     }
 
@@ -189,6 +264,8 @@ public class TshirtService {
             img.setIsMain(img.getId().equals(imageId));
             tshirtImageRepository.save(img);
         }
+        // The main image is what the T-Shirts category shows
+        categoryService.invalidate();
     }
 
     public void updateTshirtWithImages(Long id, TshirtUploadDTO dto, List<MultipartFile> newImages, List<Long> removedImages, Long mainImageId) throws IOException {
@@ -220,20 +297,28 @@ public class TshirtService {
         }
         // Reload the T-shirt to get the updated images list
         tshirt = tshirtRepository.findById(id).orElseThrow(() -> new RuntimeException("Tshirt not found after image deletion"));
-        // Add new images
+        // Add new images, uploaded concurrently
         if (newImages != null && !newImages.isEmpty()) {
-            List<TshirtImage> imageEntities = new ArrayList<>(tshirt.getImages());
-            for (MultipartFile image : newImages) {
-                if (image != null && !image.isEmpty()) {
-                    String imageUrl = cloudinaryService.uploadImage(image, "tshirts");
+            List<String> imageUrls = imageUploadService.uploadAll(newImages, "tshirts");
+            List<TshirtImage> newEntities = new ArrayList<>();
+            for (String imageUrl : imageUrls) {
+                if (imageUrl != null) {
                     TshirtImage tshirtImage = new TshirtImage();
                     tshirtImage.setImageUrl(imageUrl);
                     tshirtImage.setTshirt(tshirt);
                     tshirtImage.setIsMain(false);
-                    imageEntities.add(tshirtImageRepository.save(tshirtImage));
-                    logger.info("Added new image to T-shirt {}: {}", id, imageUrl);
+                    newEntities.add(tshirtImage);
                 }
             }
+            List<TshirtImage> imageEntities = new ArrayList<>(tshirt.getImages());
+            try {
+                // All new rows or none, so a failed insert leaves no row pointing at a deleted file
+                imageEntities.addAll(transactionTemplate.execute(status -> tshirtImageRepository.saveAll(newEntities)));
+            } catch (RuntimeException e) {
+                imageUploadService.deleteAll(imageUrls);
+                throw e;
+            }
+            logger.info("Added {} new images to T-shirt {}", newEntities.size(), id);
             tshirt.setImages(imageEntities);
         }
         // Set main image
@@ -258,5 +343,20 @@ public class TshirtService {
             logger.info("No mainImageId provided or found, set first image {} as main for T-shirt {}", images.get(0).getId(), id);
         }
         tshirtRepository.save(tshirt);
+        onTshirtSaved(tshirt);
+    }
+
+    // Keep the in-memory search index and facet counts in step with every write
+    private void onTshirtSaved(Tshirt tshirt) {
+        catalogSearchService.indexTshirt(tshirt);
+        tshirtFacetService.add(tshirt);
+        categoryService.invalidate();
+    }
+
+    private void onTshirtDeleted(Long id) {
+        catalogSearchService.removeTshirt(id);
+        tshirtFacetService.remove(id);
+        trendingService.removeTshirt(id);
+        categoryService.invalidate();
     }
 } 
\ No newline at end of file
@@ -2,10 +2,18 @@ package com.customizedtrends.app.service;
 
 import com.customizedtrends.app.model.User;
 import com.customizedtrends.app.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @Service
@@ -13,20 +21,64 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHasher passwordHasher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    public enum SignupConflict { NONE, NAME, EMAIL }
+
+    // Whether a name or email is taken, for signup duplicate checks. Misses expire quickly since another
+    // instance may register the identifier; the unique columns still reject anything that slips through.
+    private final Cache<String, Boolean> takenIdentifiers;
+
+    public UserService(@Value("${app.users.lookup-cache.ttl:PT1M}") Duration ttl) {
+        this.takenIdentifiers = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    // Signup checks answered without a query
+    @PostConstruct
+    public void registerMetrics() {
+        CaffeineCacheMetrics.monitor(meterRegistry, takenIdentifiers, "users.taken-identifiers");
+    }
 
     public User registerUser(String name, String email, String password) {
-        String hashedPassword = passwordEncoder.encode(password);
+        String hashedPassword = passwordHasher.encode(password);
         User user = new User(name, email, hashedPassword);
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        takenIdentifiers.put(nameKey(name), true);
+        takenIdentifiers.put(emailKey(email), true);
+        return saved;
     }
 
+    // A name match wins over an email match, as when the two were looked up one after the other
     public Optional<User> findByNameOrEmail(String nameOrEmail) {
-        Optional<User> user = userRepository.findByName(nameOrEmail);
-        if (user.isEmpty()) {
-            user = userRepository.findByEmail(nameOrEmail);
+        List<User> users = userRepository.findByNameOrEmail(nameOrEmail, nameOrEmail);
+        return users.stream()
+            .filter(user -> nameOrEmail.equals(user.getName()))
+            .findFirst()
+            .or(() -> users.stream().findFirst());
+    }
+
+    public SignupConflict findSignupConflict(String name, String email) {
+        Boolean emailTaken = takenIdentifiers.getIfPresent(emailKey(email));
+        if (Boolean.TRUE.equals(emailTaken)) {
+            return SignupConflict.EMAIL;
+        }
+        Boolean nameTaken = takenIdentifiers.getIfPresent(nameKey(name));
+        if (emailTaken == null || nameTaken == null) {
+            List<User> users = userRepository.findByNameOrEmail(name, email);
+            emailTaken = users.stream().anyMatch(user -> user.getEmail().equalsIgnoreCase(email));
+            nameTaken = users.stream().anyMatch(user -> user.getName().equalsIgnoreCase(name));
+            takenIdentifiers.put(emailKey(email), emailTaken);
+            takenIdentifiers.put(nameKey(name), nameTaken);
         }
-        return user;
+        return emailTaken ? SignupConflict.EMAIL : nameTaken ? SignupConflict.NAME : SignupConflict.NONE;
     }
 
     public Optional<User> findById(Long id) {
@@ -34,6 +86,14 @@ public class UserService {
     }
 
     public boolean checkPassword(User user, String rawPassword) {
-        return passwordEncoder.matches(rawPassword, user.getPassword());
+        return passwordHasher.matches(rawPassword, user.getPassword());
+    }
+
+    private static String nameKey(String name) {
+        return "name:" + name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String emailKey(String email) {
+        return "email:" + email.trim().toLowerCase(Locale.ROOT);
     }
-} 
\ No newline at end of file
+}
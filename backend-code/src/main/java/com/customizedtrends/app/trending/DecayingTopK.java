@@ -0,0 +1,97 @@
+package com.customizedtrends.app.trending;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Exponentially decayed popularity scores with an always-sorted ranking.
+ * Instead of decaying every score as time passes, each event is weighted by
+ * e^(lambda * (t - epoch)); all scores decay at the same rate, so the order is
+ * unchanged and only new events need work. Every few half-lives the epoch is
+ * moved forward, all scores rescaled and the ones that have decayed to nothing
+ * dropped, so weights stay far from overflow and memory follows recent activity
+ * rather than the whole catalog.
+ */
+public class DecayingTopK {
+
+    // Weights reach at most 2^16 between rebases
+    private static final double REBASE_HALF_LIVES = 16;
+    // Below a thousandth of an event (10 half-lives after a single view) an item is no longer trending
+    private static final double MIN_SCORE = 1e-3;
+
+    private final double lambda;
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final TreeSet<Long> ranking;
+    private long epochMillis;
+
+    public DecayingTopK(long halfLifeMillis, long nowMillis) {
+        this.lambda = Math.log(2) / halfLifeMillis;
+        this.epochMillis = nowMillis;
+        // Highest score first; ids break ties so distinct items never compare equal
+        this.ranking = new TreeSet<>(Comparator
+            .comparingDouble((Long id) -> scores.get(id)).reversed()
+            .thenComparing(Comparator.naturalOrder()));
+    }
+
+    public synchronized void record(long id, double weight, long atMillis) {
+        double exponent = lambda * (atMillis - epochMillis);
+        if (exponent > REBASE_HALF_LIVES * Math.log(2)) {
+            rebase(atMillis);
+            exponent = 0;
+        }
+        double increment = weight * Math.exp(exponent);
+        Double current = scores.get(id);
+        if (current != null) {
+            ranking.remove(id);
+        }
+        scores.put(id, (current != null ? current : 0) + increment);
+        ranking.add(id);
+    }
+
+    public synchronized void remove(long id) {
+        if (scores.containsKey(id)) {
+            ranking.remove(id);
+            scores.remove(id);
+        }
+    }
+
+    public synchronized void clear() {
+        ranking.clear();
+        scores.clear();
+    }
+
+    // Walks the first k entries of the ranking; cost does not depend on catalog size
+    public synchronized List<Long> top(int k) {
+        List<Long> ids = new ArrayList<>(Math.min(k, ranking.size()));
+        Iterator<Long> it = ranking.iterator();
+        while (ids.size() < k && it.hasNext()) {
+            ids.add(it.next());
+        }
+        return ids;
+    }
+
+    // Score in "events as of now" units, e.g. for diagnostics
+    public synchronized double score(long id, long nowMillis) {
+        Double score = scores.get(id);
+        return score == null ? 0 : score * Math.exp(-lambda * (nowMillis - epochMillis));
+    }
+
+    public synchronized int size() {
+        return scores.size();
+    }
+
+    private void rebase(long nowMillis) {
+        double factor = Math.exp(-lambda * (nowMillis - epochMillis));
+        // Uniform scaling keeps the order, but the TreeSet must not see keys change underneath it
+        ranking.clear();
+        scores.replaceAll((id, score) -> score * factor);
+        scores.values().removeIf(score -> score < MIN_SCORE);
+        ranking.addAll(scores.keySet());
+        epochMillis = nowMillis;
+    }
+}
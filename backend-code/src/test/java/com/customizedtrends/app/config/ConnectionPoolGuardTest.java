@@ -0,0 +1,44 @@
+package com.customizedtrends.app.config;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ConnectionPoolGuardTest {
+
+    @Test
+    void fails_fast_once_holders_and_waiters_reach_the_limit() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        ConnectionPoolGuard.GuardedDataSource guarded = new ConnectionPoolGuard.GuardedDataSource(target, 2, Duration.ofMillis(10));
+
+        Connection first = guarded.getConnection();
+        guarded.getConnection();
+        assertThrows(SQLTransientConnectionException.class, guarded::getConnection);
+
+        first.close();
+        first.close();
+        assertEquals(1, guarded.availablePermits());
+        guarded.getConnection();
+    }
+
+    @Test
+    void failed_acquisition_returns_the_permit() throws Exception {
+        DataSource target = mock(DataSource.class);
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool timeout"));
+        ConnectionPoolGuard.GuardedDataSource guarded = new ConnectionPoolGuard.GuardedDataSource(target, 1, Duration.ofMillis(10));
+
+        assertThrows(SQLTransientConnectionException.class, guarded::getConnection);
+        assertEquals(1, guarded.availablePermits());
+        verify(target).getConnection();
+    }
+}
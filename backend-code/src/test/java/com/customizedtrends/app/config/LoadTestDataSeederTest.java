@@ -0,0 +1,58 @@
+package com.customizedtrends.app.config;
+
+import com.customizedtrends.app.repository.DesignRepository;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import com.customizedtrends.app.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The loadtest profile on its own: embedded database, local images, and a catalog every load test flow can use
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:loadtest-seeder;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+    "app.loadtest.seed.tshirts=30",
+    "app.loadtest.seed.designs=5",
+    "app.loadtest.seed.designed-tshirts=400",
+    "app.loadtest.seed.users=3"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+public class LoadTestDataSeederTest {
+    @Autowired private MockMvc mockMvc;
+    @Autowired private TshirtRepository tshirtRepository;
+    @Autowired private DesignRepository designRepository;
+    @Autowired private DesignedTshirtRepository designedTshirtRepository;
+    @Autowired private UserRepository userRepository;
+
+    @Test
+    void seeds_a_catalog_the_load_test_can_drive() throws Exception {
+        // DataInitializer finds the catalog and adds only its admin users
+        assertEquals(30, tshirtRepository.count());
+        assertEquals(5, designRepository.count());
+        assertEquals(400, designedTshirtRepository.count());
+        assertEquals(5, userRepository.count());
+
+        mockMvc.perform(get("/api/home"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.featuredProducts.length()").value(8));
+        mockMvc.perform(get("/api/tshirts/search").param("query", "vintage"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalElements").value(4));
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nameOrEmail\":\"" + LoadTestDataSeeder.USER_PREFIX + "2\",\"password\":\"loadtest123\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.role").value("USER"));
+    }
+}
@@ -0,0 +1,72 @@
+package com.customizedtrends.app.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Round trips per auth request against the embedded database
+@SpringBootTest
+@AutoConfigureMockMvc
+public class AuthQueryCountTest {
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void login_by_name_or_email_is_one_query() throws Exception {
+        signup("roundtrip", "roundtrip@example.com", status().isOk());
+
+        assertEquals(1, countStatements(() -> login("roundtrip@example.com")));
+        assertEquals(1, countStatements(() -> login("roundtrip")));
+    }
+
+    @Test
+    void repeated_duplicate_signup_is_answered_from_cache() throws Exception {
+        assertEquals(2, countStatements(() -> signup("dupcheck", "dupcheck@example.com", status().isOk())),
+            "conflict check plus insert");
+
+        assertEquals(0, countStatements(() -> signup("dupcheck2", "dupcheck@example.com", status().isBadRequest())));
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"dupcheck\",\"email\":\"other@example.com\",\"password\":\"secret1\"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Name already taken"));
+    }
+
+    private void login(String nameOrEmail) throws Exception {
+        mockMvc.perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nameOrEmail\":\"" + nameOrEmail + "\",\"password\":\"secret1\"}"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.token").exists());
+    }
+
+    private void signup(String name, String email, ResultMatcher expected) throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"" + name + "\",\"email\":\"" + email + "\",\"password\":\"secret1\"}"))
+            .andExpect(expected);
+    }
+
+    private long countStatements(ThrowingRunnable request) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        request.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
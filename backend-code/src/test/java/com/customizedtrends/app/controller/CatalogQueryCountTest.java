@@ -0,0 +1,244 @@
+package com.customizedtrends.app.controller;
+
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.Design;
+import com.customizedtrends.app.model.DesignedTshirt;
+import com.customizedtrends.app.model.DesignedTshirtImage;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.model.TshirtImage;
+import com.customizedtrends.app.repository.BrandRepository;
+import com.customizedtrends.app.repository.ColorRepository;
+import com.customizedtrends.app.repository.DesignRepository;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import com.customizedtrends.app.service.CategoryService;
+import com.customizedtrends.app.service.TshirtService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards list endpoints against N+1 loading: the number of SQL statements for a page
+ * must not grow with the page size, including the lazy collections Jackson serializes.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+public class CatalogQueryCountTest {
+    private static final int ITEMS = 20;
+    // count + page (with brand/color joined) + one batch each for images and sizes
+    private static final int MAX_STATEMENTS_PER_PAGE = 4;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private BrandRepository brandRepository;
+    @Autowired private ColorRepository colorRepository;
+    @Autowired private DesignRepository designRepository;
+    @Autowired private TshirtRepository tshirtRepository;
+    @Autowired private DesignedTshirtRepository designedTshirtRepository;
+    @Autowired private CategoryService categoryService;
+    @Autowired private TshirtService tshirtService;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void seedCatalog() {
+        if (brandRepository.findByName("QueryCount Brand 0").isPresent()) {
+            return;
+        }
+        for (int i = 0; i < ITEMS; i++) {
+            Brand brand = new Brand();
+            brand.setName("QueryCount Brand " + i);
+            brand = brandRepository.save(brand);
+            Color color = new Color();
+            color.setName("QueryCount Color " + i);
+            color.setHexCode("#00000" + (i % 10));
+            color = colorRepository.save(color);
+            Design design = new Design();
+            design.setName("QueryCount Design " + i);
+            design = designRepository.save(design);
+
+            Tshirt tshirt = new Tshirt();
+            tshirt.setName("QueryCount Tee " + i);
+            tshirt.setBrand(brand);
+            tshirt.setColor(color);
+            tshirt.setGender("Unisex");
+            tshirt.setSizes(new ArrayList<>(List.of("S", "M", "L")));
+            List<TshirtImage> tshirtImages = new ArrayList<>();
+            for (int j = 0; j < 2; j++) {
+                TshirtImage image = new TshirtImage();
+                image.setImageUrl("https://example.com/tee-" + i + "-" + j + ".jpg");
+                image.setIsMain(j == 0);
+                image.setTshirt(tshirt);
+                tshirtImages.add(image);
+            }
+            tshirt.setImages(tshirtImages);
+            tshirtRepository.save(tshirt);
+
+            DesignedTshirt designedTshirt = new DesignedTshirt();
+            designedTshirt.setName("QueryCount Designed Tee " + i);
+            designedTshirt.setBrand(brand);
+            designedTshirt.setColor(color);
+            designedTshirt.setDesign(design);
+            designedTshirt.setGender("Unisex");
+            designedTshirt.setSizes(new ArrayList<>(List.of("S", "M", "L")));
+            List<DesignedTshirtImage> designedImages = new ArrayList<>();
+            for (int j = 0; j < 2; j++) {
+                DesignedTshirtImage image = new DesignedTshirtImage();
+                image.setImageUrl("https://example.com/designed-" + i + "-" + j + ".jpg");
+                image.setIsMain(j == 0);
+                image.setDesignedTshirt(designedTshirt);
+                designedImages.add(image);
+            }
+            designedTshirt.setImages(designedImages);
+            designedTshirtRepository.save(designedTshirt);
+        }
+    }
+
+    @Test
+    void tshirt_page_query_count_is_constant() throws Exception {
+        assertConstantQueries("/api/tshirts/page");
+    }
+
+    @Test
+    void filtered_tshirt_page_query_count_is_constant() throws Exception {
+        assertConstantQueries("/api/tshirts/page?gender=Unisex");
+    }
+
+    @Test
+    void tshirt_cursor_page_query_count_is_constant() throws Exception {
+        assertConstantQueries("/api/tshirts/page?cursor=&gender=Unisex&sortBy=price&sortOrder=asc");
+        assertCardQueries("/api/tshirts/page?cursor=&view=card&sortBy=name");
+    }
+
+    @Test
+    void tshirt_list_query_count_is_constant() throws Exception {
+        assertConstantQueries("/api/tshirts");
+    }
+
+    @Test
+    void designed_tshirt_page_query_count_is_constant() throws Exception {
+        assertConstantQueries("/api/designed-tshirts/page");
+    }
+
+    @Test
+    void tshirt_card_view_is_a_single_page_query() throws Exception {
+        assertCardQueries("/api/tshirts/page?view=card&brand=QueryCount Brand 3");
+        mockMvc.perform(get("/api/tshirts/page?view=card&brand=QueryCount Brand 3"))
+            .andExpect(jsonPath("$.content[0].imageUrl").value("https://example.com/tee-3-0.jpg"))
+            .andExpect(jsonPath("$.content[0].brand").value("QueryCount Brand 3"))
+            .andExpect(jsonPath("$.content[0].images").doesNotExist());
+    }
+
+    @Test
+    void designed_tshirt_card_view_is_a_single_page_query() throws Exception {
+        assertCardQueries("/api/designed-tshirts/page?view=card&sizes=M");
+        mockMvc.perform(get("/api/designed-tshirts/page?view=card&color=QueryCount Color 5"))
+            .andExpect(jsonPath("$.content[0].imageUrl").value("https://example.com/designed-5-0.jpg"))
+            .andExpect(jsonPath("$.content[0].colorHex").value("#000005"));
+    }
+
+    // Brand and color are optional on designed tees; the card rows must agree with the count and the full view
+    @Test
+    void designed_tshirt_without_brand_or_color_is_listed_in_card_view() throws Exception {
+        Design design = new Design();
+        design.setName("QueryCount Unbranded Design");
+        design = designRepository.save(design);
+        DesignedTshirt designedTshirt = new DesignedTshirt();
+        designedTshirt.setName("QueryCount Unbranded Tee");
+        designedTshirt.setDesign(design);
+        Long id = designedTshirtRepository.save(designedTshirt).getId();
+
+        String page = "/api/designed-tshirts/page?designId=" + design.getId();
+        mockMvc.perform(get(page + "&view=card"))
+            .andExpect(jsonPath("$.totalElements").value(1))
+            .andExpect(jsonPath("$.content.length()").value(1))
+            .andExpect(jsonPath("$.content[0].name").value("QueryCount Unbranded Tee"))
+            .andExpect(jsonPath("$.content[0].brand").doesNotExist());
+        mockMvc.perform(get(page))
+            .andExpect(jsonPath("$.totalElements").value(1))
+            .andExpect(jsonPath("$.content.length()").value(1));
+        assertEquals(1, designedTshirtRepository.findCardsByIdIn(List.of(id)).size());
+    }
+
+    @Test
+    void categories_are_served_from_cache() throws Exception {
+        // The seed goes straight to the repositories, which do not evict, and the shared context may already
+        // hold categories computed before it (BrandColorCategoryControllerTest lists them)
+        categoryService.invalidate();
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == 'gender-unisex')].image").value(hasItem(startsWith("https://example.com/designed-"))));
+        assertEquals(0, countStatements("/api/categories"), "categories were recomputed on a cache hit");
+    }
+
+    @Test
+    void changing_the_main_image_refreshes_categories() throws Exception {
+        Tshirt tshirt = new Tshirt();
+        tshirt.setName("QueryCount Newest Tee");
+        tshirt.setBrand(brandRepository.findByName("QueryCount Brand 0").orElseThrow());
+        tshirt.setColor(colorRepository.findByName("QueryCount Color 0").orElseThrow());
+        List<TshirtImage> images = new ArrayList<>();
+        for (int j = 0; j < 2; j++) {
+            TshirtImage image = new TshirtImage();
+            image.setImageUrl("https://example.com/newest-" + j + ".jpg");
+            image.setIsMain(j == 0);
+            image.setTshirt(tshirt);
+            images.add(image);
+        }
+        tshirt.setImages(images);
+        tshirt = tshirtRepository.save(tshirt);
+        categoryService.invalidate();
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(jsonPath("$[?(@.id == 'tshirts')].image").value(hasItem("https://example.com/newest-0.jpg")));
+
+        // One session around the call, as open-in-view gives the endpoint
+        Long tshirtId = tshirt.getId();
+        Long imageId = images.get(1).getId();
+        transactionTemplate.executeWithoutResult(status -> tshirtService.setMainTshirtImage(tshirtId, imageId));
+
+        mockMvc.perform(get("/api/categories"))
+            .andExpect(jsonPath("$[?(@.id == 'tshirts')].image").value(hasItem("https://example.com/newest-1.jpg")));
+    }
+
+    // Card views load only the page rows and the total count
+    private void assertCardQueries(String path) throws Exception {
+        assertConstantQueries(path);
+        long statements = countStatements(path + "&page=0&size=" + ITEMS);
+        assertTrue(statements <= 2, path + " issued " + statements + " statements");
+    }
+
+    private void assertConstantQueries(String path) throws Exception {
+        String separator = path.contains("?") ? "&" : "?";
+        long small = countStatements(path + separator + "page=0&size=2");
+        long large = countStatements(path + separator + "page=0&size=" + ITEMS);
+
+        assertTrue(large <= MAX_STATEMENTS_PER_PAGE,
+            path + " issued " + large + " statements for " + ITEMS + " items");
+        assertEquals(small, large, path + " statement count grows with the page size");
+    }
+
+    private long countStatements(String url) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url)).andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+}
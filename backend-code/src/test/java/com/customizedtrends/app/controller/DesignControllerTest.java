@@ -1,12 +1,17 @@
 package com.customizedtrends.app.controller;
 
+import com.customizedtrends.app.model.Design;
+import com.customizedtrends.app.repository.DesignRepository;
+import com.customizedtrends.app.service.DesignService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -14,6 +19,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 public class DesignControllerTest {
     @Autowired private MockMvc mockMvc;
+    @Autowired private DesignService designService;
+    @Autowired private DesignRepository designRepository;
 
     @Test
     void get_all_designs_public() throws Exception {
@@ -28,4 +35,26 @@ public class DesignControllerTest {
             .content("{\"name\":\"Test Design\"}"))
             .andExpect(status().isUnauthorized());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void update_does_not_touch_the_cached_instance_and_evicts_it() throws Exception {
+        Design design = new Design();
+        design.setName("Cached Before Edit");
+        Long id = designRepository.save(design).getId();
+        Design cached = designService.getDesignById(id).orElseThrow();
+
+        mockMvc.perform(multipart("/api/designs/{id}/update-with-image", id)
+                .with(request -> { request.setMethod("PUT"); return request; })
+                .param("name", "Edited")
+                .param("type", "Graphic")
+                .param("theme", "Retro")
+                .param("tags", "edited")
+                .param("uploadedBy", "admin")
+                .param("date", "2024-01-01")
+                .param("description", "after"))
+            .andExpect(status().isOk());
+
+        assertEquals("Cached Before Edit", cached.getName());
+        assertEquals("Edited", designService.getDesignById(id).orElseThrow().getName());
+    }
+}
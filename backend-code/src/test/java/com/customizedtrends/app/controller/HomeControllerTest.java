@@ -0,0 +1,83 @@
+package com.customizedtrends.app.controller;
+
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.Design;
+import com.customizedtrends.app.model.DesignedTshirt;
+import com.customizedtrends.app.model.HomePageConfig;
+import com.customizedtrends.app.repository.BrandRepository;
+import com.customizedtrends.app.repository.ColorRepository;
+import com.customizedtrends.app.repository.DesignRepository;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
+import com.customizedtrends.app.repository.HomePageConfigRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class HomeControllerTest {
+    @Autowired private MockMvc mockMvc;
+    @Autowired private BrandRepository brandRepository;
+    @Autowired private ColorRepository colorRepository;
+    @Autowired private DesignRepository designRepository;
+    @Autowired private DesignedTshirtRepository designedTshirtRepository;
+    @Autowired private HomePageConfigRepository homePageConfigRepository;
+
+    @Test
+    void home_page_resolves_products_and_follows_product_changes() throws Exception {
+        DesignedTshirt first = saveDesignedTshirt("Home Tee 1");
+        DesignedTshirt second = saveDesignedTshirt("Home Tee 2");
+        HomePageConfig config = new HomePageConfig();
+        config.setHeroHeadline("Summer drop");
+        config.setFeaturedProductIds(new ArrayList<>(List.of(second.getId(), first.getId(), 987654L)));
+        config.setProductOfTheWeekId(first.getId());
+        homePageConfigRepository.save(config);
+
+        String etag = mockMvc.perform(get("/api/home"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.heroHeadline").value("Summer drop"))
+            .andExpect(jsonPath("$.featuredProducts.length()").value(2))
+            .andExpect(jsonPath("$.featuredProducts[0].name").value("Home Tee 2"))
+            .andExpect(jsonPath("$.productOfTheWeek.name").value("Home Tee 1"))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/home").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+
+        second.setIsActive(false);
+        designedTshirtRepository.save(second);
+        mockMvc.perform(get("/api/home").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.featuredProducts.length()").value(1))
+            .andExpect(jsonPath("$.featuredProducts[0].name").value("Home Tee 1"));
+    }
+
+    private DesignedTshirt saveDesignedTshirt(String name) {
+        Brand brand = new Brand();
+        brand.setName(name + " Brand");
+        Color color = new Color();
+        color.setName(name + " Color");
+        color.setHexCode("#123456");
+        Design design = new Design();
+        design.setName(name + " Design");
+
+        DesignedTshirt designedTshirt = new DesignedTshirt();
+        designedTshirt.setName(name);
+        designedTshirt.setPrice(19.99);
+        designedTshirt.setImageUrl("https://example.com/" + name.replace(' ', '-') + ".jpg");
+        designedTshirt.setBrand(brandRepository.save(brand));
+        designedTshirt.setColor(colorRepository.save(color));
+        designedTshirt.setDesign(designRepository.save(design));
+        return designedTshirtRepository.save(designedTshirt);
+    }
+}
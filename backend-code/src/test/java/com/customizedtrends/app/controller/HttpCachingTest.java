@@ -0,0 +1,75 @@
+package com.customizedtrends.app.controller;
+
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.repository.BrandRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class HttpCachingTest {
+    @Autowired private MockMvc mockMvc;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+    @Autowired private BrandRepository brandRepository;
+
+    @Test
+    void reference_data_has_etag_and_cache_control() throws Exception {
+        String etag = mockMvc.perform(get("/api/tshirts/sizes"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0]").value("XS"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("max-age=3600")))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("stale-while-revalidate=86400")))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/tshirts/sizes").header(HttpHeaders.IF_NONE_MATCH, "\"other\", W/" + etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag));
+    }
+
+    @Test
+    void revalidation_is_free_until_the_entity_changes() throws Exception {
+        saveBrand("HttpCaching Brand A");
+        String etag = mockMvc.perform(get("/api/brands"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/brands").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+        assertEquals(0, statistics.getPrepareStatementCount(), "304 should not query the database");
+
+        saveBrand("HttpCaching Brand B");
+        String changed = mockMvc.perform(get("/api/brands").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.name == 'HttpCaching Brand B')]").exists())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, changed);
+    }
+
+    @Test
+    void missing_product_is_not_found() throws Exception {
+        mockMvc.perform(get("/api/tshirts/id/987654")).andExpect(status().isNotFound());
+    }
+
+    private void saveBrand(String name) {
+        Brand brand = new Brand();
+        brand.setName(name);
+        brandRepository.save(brand);
+    }
+}
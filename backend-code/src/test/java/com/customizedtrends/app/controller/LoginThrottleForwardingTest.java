@@ -0,0 +1,36 @@
+package com.customizedtrends.app.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Behind a proxy on a private address each forwarded client gets its own failure budget (needs Tomcat's RemoteIpValve)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "app.auth.throttle.max-failures-per-address=2")
+public class LoginThrottleForwardingTest {
+    @Autowired private TestRestTemplate restTemplate;
+
+    @Test
+    void failures_are_counted_per_forwarded_client_address() {
+        assertEquals(401, login("forwarding-a", "203.0.113.7"));
+        assertEquals(401, login("forwarding-b", "203.0.113.7"));
+        assertEquals(429, login("forwarding-c", "203.0.113.7"));
+
+        assertEquals(401, login("forwarding-c", "203.0.113.8"));
+    }
+
+    private int login(String account, String clientAddress) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-Forwarded-For", clientAddress);
+        String body = "{\"nameOrEmail\":\"" + account + "\",\"password\":\"wrongpass\"}";
+        return restTemplate.postForEntity("/api/auth/login", new HttpEntity<>(body, headers), String.class)
+            .getStatusCode().value();
+    }
+}
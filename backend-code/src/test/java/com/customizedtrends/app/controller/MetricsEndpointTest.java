@@ -0,0 +1,67 @@
+package com.customizedtrends.app.controller;
+
+import com.customizedtrends.app.dto.ProcessedImage;
+import com.customizedtrends.app.service.ImageStorage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The Prometheus scrape lives on the management port only and carries the endpoint, query, upload and cache meters
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = {"app.image.storage=local", "management.server.port=0"})
+@AutoConfigureObservability
+public class MetricsEndpointTest {
+    @Autowired private TestRestTemplate restTemplate;
+    @Autowired private ImageStorage imageStorage;
+    @LocalManagementPort private int managementPort;
+
+    @Test
+    void scrape_includes_request_query_upload_and_cache_meters() throws Exception {
+        assertEquals(200, restTemplate.getForEntity("/api/tshirts?size=5", String.class).getStatusCode().value());
+        // A folder outside the storage root fails before anything is written, and is still timed
+        ProcessedImage image = new ProcessedImage(new byte[16], "image/png", 16, 1, 1, 1, 1, null);
+        assertThrows(IOException.class, () -> imageStorage.uploadImage(image, "../outside"));
+
+        ResponseEntity<String> scrape = management("/actuator/prometheus");
+        assertEquals(200, scrape.getStatusCode().value());
+        String body = scrape.getBody();
+        assertTrue(body.contains("http_server_requests_seconds_bucket{"));
+        assertTrue(body.contains("hibernate_request_statements_bucket{application=\"customizedtrends\",uri=\"/api/tshirts\""));
+        assertTrue(body.contains("hibernate_request_statement_time_seconds_count{application=\"customizedtrends\",uri=\"/api/tshirts\""));
+        assertTrue(body.contains("image_upload_seconds_count{application=\"customizedtrends\",folder=\"../outside\",outcome=\"error\",storage=\"local\"} 1"));
+        assertTrue(body.contains("image_upload_size_bytes_sum{application=\"customizedtrends\",folder=\"../outside\",storage=\"local\"} 16.0"));
+        assertTrue(body.contains("cache_gets_total{"));
+        assertTrue(body.contains("cache=\"http.responses\""));
+        assertTrue(body.contains("cache=\"mockup.renders\""));
+        assertTrue(body.contains("hikaricp_connections_acquire_seconds_bucket{"));
+    }
+
+    @Test
+    void actuator_is_not_served_on_the_application_port() {
+        ResponseEntity<String> scrape = restTemplate.getForEntity("/actuator/prometheus", String.class);
+        assertNotEquals(200, scrape.getStatusCode().value());
+        assertFalse(String.valueOf(scrape.getBody()).contains("http_server_requests"));
+    }
+
+    @Test
+    void management_endpoints_beyond_health_and_prometheus_stay_closed() {
+        assertEquals(200, management("/actuator/health").getStatusCode().value());
+        assertTrue(management("/actuator/env").getStatusCode().is4xxClientError());
+    }
+
+    private ResponseEntity<String> management(String path) {
+        return restTemplate.getForEntity("http://localhost:" + managementPort + path, String.class);
+    }
+}
@@ -0,0 +1,69 @@
+package com.customizedtrends.app.controller;
+
+import com.customizedtrends.app.querybudget.QueryBudgetFilter;
+import com.customizedtrends.app.querybudget.QueryBudgetMonitor;
+import com.customizedtrends.app.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A budget of zero statements makes every request that touches the database an offender
+@SpringBootTest(properties = "app.query-budget.max-statements=0")
+@AutoConfigureMockMvc
+public class QueryBudgetTest {
+    @Autowired private MockMvc mockMvc;
+    @Autowired private JwtService jwtService;
+    @Autowired private QueryBudgetMonitor monitor;
+
+    @BeforeEach
+    void reset() {
+        monitor.reset();
+    }
+
+    @Test
+    void over_budget_requests_are_listed_with_their_request_id_and_sql() throws Exception {
+        mockMvc.perform(get("/api/tshirts").header(QueryBudgetFilter.REQUEST_ID_HEADER, "catalog-1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(QueryBudgetFilter.REQUEST_ID_HEADER, "catalog-1"));
+
+        mockMvc.perform(get("/api/admin/query-budget").header("Authorization", bearer("ADMIN")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].route").value("GET /api/tshirts"))
+            .andExpect(jsonPath("$[0].requests").value(1))
+            .andExpect(jsonPath("$[0].overBudget").value(1))
+            .andExpect(jsonPath("$[0].maxStatements").value(greaterThanOrEqualTo(1)))
+            .andExpect(jsonPath("$[0].worst.requestId").value("catalog-1"))
+            .andExpect(jsonPath("$[0].worst.topSql[0].sql").value(startsWith("select")))
+            .andExpect(jsonPath("$[0].worst.topSql[0].executions").value(greaterThanOrEqualTo(1)));
+    }
+
+    @Test
+    void unsafe_request_ids_are_replaced() throws Exception {
+        mockMvc.perform(get("/api/tshirts").header(QueryBudgetFilter.REQUEST_ID_HEADER, "bad id\r\nx"))
+            .andExpect(header().string(QueryBudgetFilter.REQUEST_ID_HEADER, matchesPattern("[0-9a-f-]{36}")));
+    }
+
+    @Test
+    void admin_endpoint_requires_the_admin_role() throws Exception {
+        mockMvc.perform(get("/api/admin/query-budget").header("Authorization", bearer("USER")))
+            .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/admin/query-budget").param("sortBy", "rows").header("Authorization", bearer("ADMIN")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value(startsWith("Unknown sort")));
+    }
+
+    private String bearer(String role) {
+        return "Bearer " + jwtService.generateToken("1", role);
+    }
+}
@@ -0,0 +1,140 @@
+package com.customizedtrends.app.controller;
+
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.repository.BrandRepository;
+import com.customizedtrends.app.repository.ColorRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+public class TshirtPaginationTest {
+    private static final String BRAND = "Keyset Brand";
+    private static final int ITEMS = 23;
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private BrandRepository brandRepository;
+    @Autowired private ColorRepository colorRepository;
+    @Autowired private TshirtRepository tshirtRepository;
+
+    @BeforeEach
+    void seedCatalog() {
+        if (brandRepository.findByName(BRAND).isPresent()) {
+            return;
+        }
+        Brand brand = new Brand();
+        brand.setName(BRAND);
+        brand = brandRepository.save(brand);
+        Color color = new Color();
+        color.setName("Keyset Color");
+        color.setHexCode("#123456");
+        color = colorRepository.save(color);
+
+        // Repeated prices, names and timestamps exercise the id tie-break; some prices are missing
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < ITEMS; i++) {
+            Tshirt tshirt = new Tshirt();
+            tshirt.setName("Keyset Tee " + (char) ('A' + i % 5));
+            tshirt.setBrand(brand);
+            tshirt.setColor(color);
+            tshirt.setGender(i % 2 == 0 ? "Men" : "Women");
+            tshirt.setPrice(i % 7 == 0 ? null : 10.0 + i % 4);
+            tshirt.setCreatedAt(base.plusDays(i % 6));
+            tshirtRepository.save(tshirt);
+        }
+    }
+
+    @Test
+    void cursor_pages_match_offset_order_for_every_sort() throws Exception {
+        for (String sortBy : List.of("createdAt", "price", "name")) {
+            for (String sortOrder : List.of("asc", "desc")) {
+                String query = "brand=" + BRAND + "&sortBy=" + sortBy + "&sortOrder=" + sortOrder;
+                List<Long> offsetIds = ids(read("/api/tshirts/page?size=" + ITEMS + "&" + query).get("content"));
+                assertEquals(ITEMS, offsetIds.size());
+                assertEquals(offsetIds, walkCursor("/api/tshirts/page?size=4&" + query), sortBy + " " + sortOrder);
+                assertEquals(offsetIds, walkCursor("/api/tshirts/filter?size=5&" + query), sortBy + " " + sortOrder);
+            }
+        }
+    }
+
+    @Test
+    void offset_pages_honor_sort() throws Exception {
+        JsonNode content = read("/api/tshirts/page?brand=" + BRAND + "&sortBy=price&sortOrder=desc&size=" + ITEMS).get("content");
+        for (int i = 1; i < content.size(); i++) {
+            JsonNode previous = content.get(i - 1).get("price");
+            JsonNode current = content.get(i).get("price");
+            // Missing prices sort lowest
+            assertTrue(current == null || (previous != null && previous.asDouble() >= current.asDouble()),
+                "prices out of order at " + i);
+        }
+    }
+
+    @Test
+    void cursor_respects_filters_and_card_view() throws Exception {
+        JsonNode page = read("/api/tshirts/page?view=card&cursor=&brand=" + BRAND + "&gender=Men&size=100");
+        assertEquals((ITEMS + 1) / 2, page.get("content").size());
+        assertFalse(page.hasNonNull("nextCursor"));
+        assertEquals(BRAND, page.get("content").get(0).get("brand").asText());
+    }
+
+    @Test
+    void rejects_unknown_sort_and_foreign_cursor() throws Exception {
+        mockMvc.perform(get("/api/tshirts/page?sortBy=stock"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Unsupported sortBy: stock"));
+        mockMvc.perform(get("/api/tshirts/page?cursor=not-a-cursor"))
+            .andExpect(status().isBadRequest());
+
+        String priceCursor = read("/api/tshirts/page?cursor=&size=1&brand=" + BRAND + "&sortBy=price").get("nextCursor").asText();
+        mockMvc.perform(get("/api/tshirts/page?sortBy=name&cursor=" + priceCursor))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.error").value("Cursor does not match sortBy/sortOrder"));
+    }
+
+    private List<Long> walkCursor(String url) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        String cursor = "";
+        while (cursor != null) {
+            assertTrue(seen.add(cursor), "cursor repeated");
+            JsonNode page = read(url + "&cursor=" + cursor);
+            ids.addAll(ids(page.get("content")));
+            cursor = page.hasNonNull("nextCursor") ? page.get("nextCursor").asText() : null;
+        }
+        return ids;
+    }
+
+    private static List<Long> ids(JsonNode content) {
+        List<Long> ids = new ArrayList<>();
+        content.forEach(row -> ids.add(row.get("id").asLong()));
+        return ids;
+    }
+
+    private JsonNode read(String url) throws Exception {
+        String body = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+}
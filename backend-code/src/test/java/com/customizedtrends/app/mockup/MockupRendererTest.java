@@ -0,0 +1,68 @@
+package com.customizedtrends.app.mockup;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MockupRendererTest {
+
+    private final MockupRenderer renderer = new MockupRenderer();
+
+    @Test
+    void scalesPreviewLayoutToRequestedWidth() {
+        BufferedImage result = renderer.render(solid(100, 120, Color.BLUE), null, 1, 0, 0, 1, 800);
+
+        assertEquals(800, result.getWidth());
+        assertEquals(960, result.getHeight());
+        assertEquals(Color.BLUE.getRGB(), result.getRGB(400, 480));
+    }
+
+    @Test
+    void centersDesignOnPositionWithZoom() {
+        BufferedImage tshirt = solid(400, 480, Color.WHITE);
+        BufferedImage design = solid(50, 50, Color.RED);
+
+        // Zoom 0.5 gives a 60px design centered on (100, 100), i.e. covering 70..130
+        BufferedImage result = renderer.render(tshirt, design, 0.5, 100, 100, 1, 400);
+
+        assertEquals(Color.RED.getRGB(), result.getRGB(100, 100));
+        assertEquals(Color.RED.getRGB(), result.getRGB(72, 128));
+        assertEquals(Color.WHITE.getRGB(), result.getRGB(66, 100));
+        assertEquals(Color.WHITE.getRGB(), result.getRGB(134, 100));
+    }
+
+    @Test
+    void keepsTransparentDesignPixelsFromCoveringTheShirt() {
+        BufferedImage design = new BufferedImage(20, 20, BufferedImage.TYPE_INT_ARGB);
+
+        BufferedImage result = renderer.render(solid(400, 480, Color.GREEN), design, 1, 200, 200, 1, 400);
+
+        assertEquals(Color.GREEN.getRGB(), result.getRGB(200, 200));
+    }
+
+    @Test
+    void lruCacheEvictsLeastRecentlyUsedByWeight() {
+        LruCache<String, byte[]> cache = new LruCache<>(10, value -> value.length);
+        cache.put("a", new byte[4]);
+        cache.put("b", new byte[4]);
+        cache.get("a");
+        cache.put("c", new byte[4]);
+
+        assertEquals(2, cache.size());
+        assertEquals(8, cache.weight());
+        assertEquals(null, cache.get("b"));
+    }
+
+    private static BufferedImage solid(int width, int height, Color color) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, width, height);
+        g.dispose();
+        return image;
+    }
+}
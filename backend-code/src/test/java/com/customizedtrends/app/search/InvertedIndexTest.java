@@ -0,0 +1,50 @@
+package com.customizedtrends.app.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvertedIndexTest {
+
+    private InvertedIndex newIndex() {
+        InvertedIndex index = new InvertedIndex(Map.of("name", 3.0f, "tags", 2.0f, "description", 1.0f));
+        index.put(1L, Map.of("name", "Nike Classic Black", "tags", "sport,classic", "description", "Cotton crew neck"));
+        index.put(2L, Map.of("name", "Adidas Sport Red", "tags", "sport,running", "description", "Breathable polyester"));
+        index.put(3L, Map.of("name", "Vintage Retro Tee", "tags", "vintage,retro", "description", "Classic look for sport fans"));
+        return index;
+    }
+
+    @Test
+    void exact_match_ranks_name_above_description() {
+        List<Long> ids = newIndex().search("classic");
+        assertEquals(List.of(1L, 3L), ids);
+    }
+
+    @Test
+    void prefix_and_multi_token_queries_intersect() {
+        InvertedIndex index = newIndex();
+        assertEquals(List.of(2L), index.search("adi"));
+        assertEquals(List.of(2L), index.search("sport red"));
+    }
+
+    @Test
+    void fuzzy_match_tolerates_a_typo() {
+        assertEquals(List.of(3L), newIndex().search("vintahe"));
+    }
+
+    @Test
+    void update_and_remove_are_incremental() {
+        InvertedIndex index = newIndex();
+        index.put(2L, Map.of("name", "Adidas Vintage Blue"));
+        assertTrue(index.search("red").isEmpty());
+        assertEquals(2, index.search("vintage").size());
+
+        index.remove(3L);
+        assertEquals(List.of(2L), index.search("vintage"));
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,184 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.CheckoutRequest;
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.DesignedTshirt;
+import com.customizedtrends.app.model.Order;
+import com.customizedtrends.app.model.OrderItem;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.repository.BrandRepository;
+import com.customizedtrends.app.repository.ColorRepository;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+public class CheckoutConcurrencyTest {
+    private static final int STOCK = 100;
+    private static final int CHECKOUTS = 500;
+
+    @Autowired private OrderService orderService;
+    @Autowired private TshirtRepository tshirtRepository;
+    @Autowired private DesignedTshirtRepository designedTshirtRepository;
+    @Autowired private BrandRepository brandRepository;
+    @Autowired private ColorRepository colorRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void parallel_checkouts_never_oversell() throws Exception {
+        Tshirt tshirt = saveTshirt("Checkout Race Tee", STOCK);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger sold = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(32);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < CHECKOUTS; i++) {
+            long userId = i;
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    orderService.checkout(userId, request(tshirt.getId(), 1));
+                    sold.incrementAndGet();
+                } catch (RuntimeException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        assertEquals(STOCK, sold.get());
+        assertEquals(CHECKOUTS - STOCK, rejected.get());
+        assertEquals(0, tshirtRepository.findById(tshirt.getId()).orElseThrow().getStock());
+        Integer orderedUnits = jdbcTemplate.queryForObject(
+            "SELECT SUM(quantity) FROM order_item WHERE tshirt_id = ?", Integer.class, tshirt.getId());
+        assertEquals(STOCK, orderedUnits);
+    }
+
+    @Test
+    void order_is_priced_from_the_catalog_and_rolled_back_as_a_whole() {
+        Tshirt plenty = saveTshirt("Checkout Priced Tee", 10);
+        Tshirt scarce = saveTshirt("Checkout Scarce Tee", 1);
+
+        Order order = orderService.checkout(7L, request(plenty.getId(), 3));
+        assertEquals(3 * 12.5, order.getTotal());
+        assertEquals(12.5, order.getItems().get(0).getPrice());
+
+        CheckoutRequest both = request(plenty.getId(), 2);
+        CheckoutRequest.Item scarceItem = new CheckoutRequest.Item();
+        scarceItem.setTshirtId(scarce.getId());
+        scarceItem.setQuantity(2);
+        both.getItems().add(scarceItem);
+        assertThrows(RuntimeException.class, () -> orderService.checkout(7L, both));
+        assertEquals(7, tshirtRepository.findById(plenty.getId()).orElseThrow().getStock());
+        assertEquals(1, tshirtRepository.findById(scarce.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void designed_tshirts_are_priced_and_reserved_on_their_own_row() {
+        Tshirt plain = saveTshirt("Checkout Plain Tee", 10);
+        DesignedTshirt designed = saveDesignedTshirt("Checkout Designed Tee", 5);
+
+        CheckoutRequest mixed = request(plain.getId(), 1);
+        mixed.getItems().add(designedItem(designed.getId(), 2));
+        Order order = orderService.checkout(9L, mixed);
+
+        assertEquals(12.5 + 2 * 30.0, order.getTotal());
+        OrderItem designedLine = order.getItems().stream()
+            .filter(item -> item.getDesignedTshirt() != null).findFirst().orElseThrow();
+        assertEquals(designed.getId(), designedLine.getDesignedTshirt().getId());
+        assertNull(designedLine.getTshirt());
+        assertEquals(30.0, designedLine.getPrice());
+        assertEquals(3, designedTshirtRepository.findById(designed.getId()).orElseThrow().getStock());
+        assertEquals(9, tshirtRepository.findById(plain.getId()).orElseThrow().getStock());
+
+        // Short stock on the designed row rolls back the plain t-shirt too
+        CheckoutRequest tooMany = request(plain.getId(), 1);
+        tooMany.getItems().add(designedItem(designed.getId(), 4));
+        assertThrows(RuntimeException.class, () -> orderService.checkout(9L, tooMany));
+        assertEquals(3, designedTshirtRepository.findById(designed.getId()).orElseThrow().getStock());
+        assertEquals(9, tshirtRepository.findById(plain.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void items_need_exactly_one_product_and_a_sane_quantity() {
+        Tshirt tshirt = saveTshirt("Checkout Validation Tee", 1000);
+        DesignedTshirt designed = saveDesignedTshirt("Checkout Validation Designed Tee", 1000);
+
+        CheckoutRequest neither = request(null, 1);
+        assertThrows(RuntimeException.class, () -> orderService.checkout(9L, neither));
+        CheckoutRequest both = request(tshirt.getId(), 1);
+        both.getItems().get(0).setDesignedTshirtId(designed.getId());
+        assertThrows(RuntimeException.class, () -> orderService.checkout(9L, both));
+        assertThrows(RuntimeException.class, () -> orderService.checkout(9L, request(tshirt.getId(), 101)));
+        assertEquals(1000, tshirtRepository.findById(tshirt.getId()).orElseThrow().getStock());
+    }
+
+    private static CheckoutRequest.Item designedItem(Long designedTshirtId, int quantity) {
+        CheckoutRequest.Item item = new CheckoutRequest.Item();
+        item.setDesignedTshirtId(designedTshirtId);
+        item.setQuantity(quantity);
+        item.setSize("L");
+        return item;
+    }
+
+    private static CheckoutRequest request(Long tshirtId, int quantity) {
+        CheckoutRequest.Item item = new CheckoutRequest.Item();
+        item.setTshirtId(tshirtId);
+        item.setQuantity(quantity);
+        item.setSize("M");
+        CheckoutRequest request = new CheckoutRequest();
+        request.setCustomerName("Checkout Test");
+        request.setAddress("1 Test Street");
+        request.setItems(new ArrayList<>(List.of(item)));
+        return request;
+    }
+
+    private Tshirt saveTshirt(String name, int stock) {
+        Brand brand = new Brand();
+        brand.setName(name + " Brand");
+        Color color = new Color();
+        color.setName(name + " Color");
+        color.setHexCode("#FFFFFF");
+        Tshirt tshirt = new Tshirt();
+        tshirt.setName(name);
+        tshirt.setPrice(12.5);
+        tshirt.setStock(stock);
+        tshirt.setBrand(brandRepository.save(brand));
+        tshirt.setColor(colorRepository.save(color));
+        return tshirtRepository.save(tshirt);
+    }
+
+    private DesignedTshirt saveDesignedTshirt(String name, int stock) {
+        Tshirt base = saveTshirt(name + " Base", 0);
+        DesignedTshirt designed = new DesignedTshirt();
+        designed.setName(name);
+        designed.setPrice(30.0);
+        designed.setStock(stock);
+        designed.setIsActive(true);
+        designed.setBrand(base.getBrand());
+        designed.setColor(base.getColor());
+        return designedTshirtRepository.save(designed);
+    }
+}
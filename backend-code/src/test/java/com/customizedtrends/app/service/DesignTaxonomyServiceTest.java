@@ -0,0 +1,44 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.model.Design;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DesignTaxonomyServiceTest {
+
+    @Test
+    void countsTermsAndFollowsUpdatesAndDeletes() {
+        DesignTaxonomyService taxonomy = new DesignTaxonomyService();
+        taxonomy.add(design(1L, "Graphic", "Retro", "vintage, 80s"));
+        taxonomy.add(design(2L, "graphic", "Nature", "Vintage"));
+        taxonomy.add(design(3L, "Text", null, ""));
+
+        assertEquals(List.of("Graphic", "Text"), taxonomy.getTypes());
+        assertEquals(List.of("Nature", "Retro"), taxonomy.getThemes());
+
+        // Update moves design 2 to another theme; delete drops design 3's type entirely
+        taxonomy.add(design(2L, "Graphic", "Retro", "vintage"));
+        taxonomy.remove(3L);
+
+        assertEquals(List.of("Graphic"), taxonomy.getTypes());
+        assertEquals(List.of("Retro"), taxonomy.getThemes());
+        Map<String, Object> facets = taxonomy.getFacets();
+        assertEquals(2, facets.get("total"));
+        assertEquals(List.of(
+            Map.of("name", "vintage", "count", 2),
+            Map.of("name", "80s", "count", 1)), facets.get("tags"));
+    }
+
+    private static Design design(Long id, String type, String theme, String tags) {
+        Design design = new Design();
+        design.setId(id);
+        design.setType(type);
+        design.setTheme(theme);
+        design.setTags(tags);
+        return design;
+    }
+}
@@ -0,0 +1,104 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.ProcessedImage;
+import com.customizedtrends.app.model.Design;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ImageProcessingServiceTest {
+    private ImageProcessingService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ImageProcessingService();
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "maxDimension", 1200);
+        ReflectionTestUtils.setField(service, "thumbnailSize", 200);
+        ReflectionTestUtils.setField(service, "jpegQuality", 0.8f);
+        ReflectionTestUtils.setField(service, "maxPixels", 50_000_000L);
+    }
+
+    private static byte[] png(int width, int height, int type) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, type);
+        for (int x = 0; x < width; x += 7) {
+            for (int y = 0; y < height; y += 5) {
+                image.setRGB(x, y, 0xFF000000 | (x * 31 + y * 17));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void large_opaque_upload_is_downscaled_to_jpeg_with_real_metadata() throws Exception {
+        byte[] upload = png(3000, 2000, BufferedImage.TYPE_INT_RGB);
+        ProcessedImage processed = service.process(upload, "image/png");
+
+        assertEquals("image/jpeg", processed.getContentType());
+        assertEquals(3000, processed.getOriginalWidth());
+        assertEquals(1200, processed.getWidth());
+        assertEquals(800, processed.getHeight());
+        assertEquals(upload.length, processed.getOriginalFileSize());
+        assertTrue(processed.getCompressedFileSize() < upload.length);
+
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(processed.getData()));
+        assertEquals(1200, decoded.getWidth());
+
+        Design design = new Design();
+        processed.applyTo(design);
+        assertEquals(Integer.valueOf(800), design.getCompressedHeight());
+        assertTrue(design.getCompressionRatio().endsWith("%"));
+    }
+
+    @Test
+    void transparent_upload_stays_png_and_thumbnail_reuses_decoded_pixels() throws Exception {
+        ProcessedImage processed = service.process(png(400, 400, BufferedImage.TYPE_INT_ARGB), "image/png");
+        assertEquals("image/png", processed.getContentType());
+
+        ProcessedImage thumbnail = service.createThumbnail(processed);
+        assertEquals(200, thumbnail.getWidth());
+        assertEquals("image/png", thumbnail.getContentType());
+    }
+
+    @Test
+    void undecodable_upload_is_stored_as_is() throws Exception {
+        byte[] full = png(400, 400, BufferedImage.TYPE_INT_RGB);
+        byte[] truncated = Arrays.copyOf(full, full.length / 2);
+
+        ProcessedImage processed = service.process(truncated, "image/png");
+        assertArrayEquals(truncated, processed.getData());
+        assertEquals("image/png", processed.getContentType());
+        assertNull(processed.getImage());
+    }
+
+    @Test
+    void upload_declaring_too_many_pixels_is_rejected_before_decoding() throws Exception {
+        // A tiny PNG whose header claims 30000x30000
+        byte[] bomb = png(1, 1, BufferedImage.TYPE_INT_RGB);
+        ByteBuffer header = ByteBuffer.wrap(bomb);
+        header.putInt(16, 30_000).putInt(20, 30_000);
+        CRC32 crc = new CRC32();
+        crc.update(bomb, 12, 17);
+        header.putInt(29, (int) crc.getValue());
+
+        IOException e = assertThrows(IOException.class, () -> service.process(bomb, "image/png"));
+        assertTrue(e.getMessage().contains("30000x30000"));
+    }
+}
@@ -0,0 +1,44 @@
+package com.customizedtrends.app.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JwtServiceTest {
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(100);
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", "test_secret_for_jwt_service");
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+    }
+
+    @Test
+    void verified_token_is_parsed_once() {
+        String token = jwtService.generateToken("42", "USER");
+
+        JwtService.VerifiedToken first = jwtService.verify(token).orElseThrow();
+        assertEquals("42", first.userId());
+        assertEquals("ROLE_USER", first.authorities().get(0).getAuthority());
+        assertSame(first, jwtService.verify(token).orElseThrow());
+        assertTrue(jwtService.validateToken(token, "42"));
+        assertFalse(jwtService.validateToken(token, "43"));
+    }
+
+    @Test
+    void tampered_and_expired_tokens_are_rejected() {
+        String token = jwtService.generateToken("42", "ADMIN");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertTrue(jwtService.verify(tampered).isEmpty());
+        assertTrue(jwtService.verify("not-a-jwt").isEmpty());
+
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", -1_000L);
+        assertTrue(jwtService.verify(jwtService.generateToken("42", "ADMIN")).isEmpty());
+    }
+}
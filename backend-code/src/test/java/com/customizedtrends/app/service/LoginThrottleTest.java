@@ -0,0 +1,96 @@
+package com.customizedtrends.app.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginThrottleTest {
+    private final AtomicLong now = new AtomicLong();
+
+    private LoginThrottle throttle(int perAccount, int perAddress, int backoffAfter, SimpleMeterRegistry registry) {
+        return new LoginThrottle(perAccount, perAddress, backoffAfter, Duration.ofSeconds(8), Duration.ofMinutes(15),
+            registry, now::get);
+    }
+
+    @Test
+    void account_is_blocked_from_the_failing_address_until_a_success() {
+        LoginThrottle throttle = throttle(2, 100, 20, new SimpleMeterRegistry());
+
+        assertTrue(throttle.tryAcquire("Alice@Example.com", "10.0.0.1"));
+        throttle.recordFailure("alice@example.com", "10.0.0.1");
+        assertTrue(throttle.tryAcquire("alice@example.com", "10.0.0.1"));
+        throttle.recordFailure("alice@example.com ", "10.0.0.1");
+        assertFalse(throttle.tryAcquire("ALICE@example.com", "10.0.0.1"));
+        assertTrue(throttle.tryAcquire("bob@example.com", "10.0.0.1"));
+
+        // Someone else's failures do not lock the owner out elsewhere
+        assertTrue(throttle.tryAcquire("alice@example.com", "10.0.0.2"));
+
+        throttle.recordSuccess("alice@example.com", "10.0.0.1");
+        assertTrue(throttle.tryAcquire("alice@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void address_is_blocked_after_too_many_failures() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        LoginThrottle throttle = throttle(100, 3, 20, registry);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(throttle.tryAcquire("user" + i, "10.0.0.9"));
+            throttle.recordFailure("user" + i, "10.0.0.9");
+        }
+        assertFalse(throttle.tryAcquire("user4", "10.0.0.9"));
+        assertTrue(throttle.tryAcquire("user4", "10.0.0.10"));
+        assertEquals(1.0, registry.get("auth.login.throttled").counter().count());
+    }
+
+    @Test
+    void successful_logins_do_not_use_up_a_shared_address() {
+        LoginThrottle throttle = throttle(5, 3, 20, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(throttle.tryAcquire("user" + i, "10.0.0.9"));
+            throttle.recordSuccess("user" + i, "10.0.0.9");
+        }
+    }
+
+    @Test
+    void guesses_spread_over_addresses_slow_the_account_down_without_locking_it() {
+        LoginThrottle throttle = throttle(5, 100, 3, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(throttle.tryAcquire("carol@example.com", "10.0.1." + i));
+            throttle.recordFailure("carol@example.com", "10.0.1." + i);
+        }
+        // A fresh address gets no fresh budget, but only has to wait: 1s, then doubling per failure
+        assertFalse(throttle.tryAcquire("carol@example.com", "10.0.2.1"));
+        assertTrue(throttle.tryAcquire("dave@example.com", "10.0.2.1"));
+        advance(Duration.ofSeconds(1));
+        assertTrue(throttle.tryAcquire("carol@example.com", "10.0.2.1"));
+        throttle.recordFailure("carol@example.com", "10.0.2.1");
+        advance(Duration.ofSeconds(1));
+        assertFalse(throttle.tryAcquire("Carol@Example.com", "10.0.2.2"));
+        advance(Duration.ofSeconds(1));
+        assertTrue(throttle.tryAcquire("carol@example.com", "10.0.2.2"));
+
+        // The wait is capped, so the owner always gets another try
+        for (int i = 0; i < 20; i++) {
+            throttle.recordFailure("carol@example.com", "10.0.3." + i);
+        }
+        advance(Duration.ofSeconds(8));
+        assertTrue(throttle.tryAcquire("carol@example.com", "10.0.4.1"));
+
+        throttle.recordSuccess("carol@example.com", "10.0.4.1");
+        assertTrue(throttle.tryAcquire("carol@example.com", "10.0.4.2"));
+    }
+
+    private void advance(Duration duration) {
+        now.addAndGet(duration.toNanos());
+    }
+}
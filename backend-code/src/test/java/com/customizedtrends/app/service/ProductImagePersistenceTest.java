@@ -0,0 +1,76 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.DesignedTshirtSaveDTO;
+import com.customizedtrends.app.dto.TshirtUploadDTO;
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.repository.BrandRepository;
+import com.customizedtrends.app.repository.ColorRepository;
+import com.customizedtrends.app.repository.DesignedTshirtRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// A product and its images are stored together: when an image row cannot be inserted, nothing is kept
+@SpringBootTest
+public class ProductImagePersistenceTest {
+    // Longer than the image URL column, so the second image insert fails
+    private static final List<String> UPLOADED = List.of("https://example.com/ok.jpg", "https://example.com/" + "x".repeat(300));
+
+    @Autowired private TshirtService tshirtService;
+    @Autowired private DesignedTshirtService designedTshirtService;
+    @Autowired private TshirtRepository tshirtRepository;
+    @Autowired private DesignedTshirtRepository designedTshirtRepository;
+    @Autowired private BrandRepository brandRepository;
+    @Autowired private ColorRepository colorRepository;
+    @MockitoBean private ImageUploadService imageUploadService;
+
+    private final List<MultipartFile> images = List.of(
+        new MockMultipartFile("images", "a.png", "image/png", new byte[] {1}),
+        new MockMultipartFile("images", "b.png", "image/png", new byte[] {2}));
+
+    @Test
+    void failed_image_insert_rolls_back_the_tshirt() throws Exception {
+        brandRepository.save(new Brand("Rollback Brand"));
+        colorRepository.save(new Color("Rollback Color", "#111111"));
+        when(imageUploadService.uploadAll(any(), anyString())).thenReturn(UPLOADED);
+        TshirtUploadDTO dto = new TshirtUploadDTO();
+        dto.setName("Rollback Tee");
+        dto.setBrand("Rollback Brand");
+        dto.setColor("Rollback Color");
+        dto.setPrice(20.0);
+        dto.setStock(5);
+
+        assertThrows(RuntimeException.class, () -> tshirtService.createTshirtWithImages(dto, images, 0));
+
+        assertTrue(tshirtRepository.findAll().stream().noneMatch(t -> "Rollback Tee".equals(t.getName())));
+        verify(imageUploadService).deleteAll(UPLOADED);
+    }
+
+    @Test
+    void failed_image_insert_rolls_back_the_designed_tshirt() throws Exception {
+        when(imageUploadService.uploadAll(any(), anyString())).thenReturn(UPLOADED);
+        DesignedTshirtSaveDTO dto = new DesignedTshirtSaveDTO();
+        dto.setName("Rollback Designed Tee");
+        dto.setPrice(25.0);
+        dto.setStock(5);
+
+        assertThrows(RuntimeException.class, () -> designedTshirtService.createDesignedTshirtWithImages(dto, images, 0));
+
+        assertTrue(designedTshirtRepository.findAll().stream().noneMatch(t -> "Rollback Designed Tee".equals(t.getName())));
+        verify(imageUploadService).deleteAll(UPLOADED);
+    }
+}
@@ -0,0 +1,58 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.dto.CheckoutRequest;
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.repository.BrandRepository;
+import com.customizedtrends.app.repository.ColorRepository;
+import com.customizedtrends.app.repository.TshirtRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class TrendingServiceTest {
+    @Autowired private TrendingService trendingService;
+    @Autowired private OrderService orderService;
+    @Autowired private TshirtRepository tshirtRepository;
+    @Autowired private BrandRepository brandRepository;
+    @Autowired private ColorRepository colorRepository;
+
+    // The startup replay runs outside any session, so it must not touch lazy order items
+    @Test
+    void rebuild_replays_saved_orders() {
+        Brand brand = new Brand();
+        brand.setName("Trending Replay Brand");
+        Color color = new Color();
+        color.setName("Trending Replay Color");
+        color.setHexCode("#000000");
+        Tshirt tshirt = new Tshirt();
+        tshirt.setName("Trending Replay Tee");
+        tshirt.setPrice(20.0);
+        tshirt.setStock(50);
+        tshirt.setBrand(brandRepository.save(brand));
+        tshirt.setColor(colorRepository.save(color));
+        tshirt = tshirtRepository.save(tshirt);
+
+        CheckoutRequest.Item item = new CheckoutRequest.Item();
+        item.setTshirtId(tshirt.getId());
+        item.setQuantity(2);
+        CheckoutRequest request = new CheckoutRequest();
+        request.setCustomerName("Trending Test");
+        request.setAddress("1 Test Street");
+        request.setItems(new ArrayList<>(List.of(item)));
+        orderService.checkout(3L, request);
+
+        trendingService.rebuild();
+
+        // Not featured, so it can only be listed through the replayed order (other tests share the context)
+        Long id = tshirt.getId();
+        assertTrue(trendingService.getTrendingTshirts(50).stream().anyMatch(t -> t.getId().equals(id)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.customizedtrends.app.service;
+
+import com.customizedtrends.app.model.Brand;
+import com.customizedtrends.app.model.Color;
+import com.customizedtrends.app.model.Tshirt;
+import com.customizedtrends.app.repository.BrandRepository;
+import com.customizedtrends.app.repository.ColorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+public class TshirtFacetServiceTest {
+    @Autowired private TshirtService tshirtService;
+    @Autowired private TshirtFacetService tshirtFacetService;
+    @Autowired private BrandRepository brandRepository;
+    @Autowired private ColorRepository colorRepository;
+    @Autowired private TransactionTemplate transactionTemplate;
+
+    // An update body may name its brand and color by id only; the facets must still know their names.
+    // Like a request under open-in-view, the update runs in one session so the id-only references are kept as given
+    @Test
+    void update_with_id_only_brand_and_color_keeps_facet_names() {
+        Brand brand = brandRepository.save(new Brand("Facet Update Brand"));
+        Color color = colorRepository.save(new Color("Facet Update Color", "#123456"));
+        Color otherColor = colorRepository.save(new Color("Facet Update Other Color", "#654321"));
+        Tshirt tshirt = new Tshirt();
+        tshirt.setName("Facet Update Tee");
+        tshirt.setPrice(20.0);
+        tshirt.setStock(5);
+        tshirt.setBrand(brand);
+        tshirt.setColor(color);
+        tshirt = tshirtService.createTshirt(tshirt);
+
+        // One reference the facets already hold, one they have never seen
+        Brand brandById = new Brand();
+        brandById.setId(brand.getId());
+        Color colorById = new Color();
+        colorById.setId(otherColor.getId());
+        Tshirt update = new Tshirt();
+        update.setName("Facet Update Tee");
+        update.setPrice(20.0);
+        update.setStock(5);
+        update.setBrand(brandById);
+        update.setColor(colorById);
+        Long id = tshirt.getId();
+        transactionTemplate.executeWithoutResult(status -> tshirtService.updateTshirt(id, update));
+
+        List<Brand> brands = tshirtFacetService.getAvailableBrands(null);
+        assertTrue(brands.stream().anyMatch(b -> "Facet Update Brand".equals(b.getName())));
+        List<Color> colors = tshirtFacetService.getAvailableColors("Facet Update Brand", null);
+        assertEquals(List.of("Facet Update Other Color"), colors.stream().map(Color::getName).toList());
+        Map<String, Object> facets = tshirtFacetService.getFacets("Facet Update Brand", "Facet Update Other Color", null);
+        assertEquals(1, facets.get("total"));
+    }
+}
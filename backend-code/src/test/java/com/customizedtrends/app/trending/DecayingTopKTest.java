@@ -0,0 +1,61 @@
+package com.customizedtrends.app.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DecayingTopKTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+
+    @Test
+    void ranksByAccumulatedScore() {
+        DecayingTopK topK = new DecayingTopK(HOUR, 0);
+        topK.record(1, 1, 0);
+        topK.record(2, 3, 0);
+        topK.record(3, 1, 0);
+        topK.record(3, 1, 0);
+
+        assertEquals(List.of(2L, 3L), topK.top(2));
+        assertEquals(List.of(2L, 3L, 1L), topK.top(10));
+    }
+
+    @Test
+    void recentActivityOutranksOlderActivity() {
+        DecayingTopK topK = new DecayingTopK(HOUR, 0);
+        topK.record(1, 4, 0);
+        // Three half-lives later 4 events are worth 0.5, so 1 fresh event wins
+        topK.record(2, 1, 3 * HOUR);
+
+        assertEquals(List.of(2L, 1L), topK.top(2));
+        assertEquals(0.5, topK.score(1, 3 * HOUR), 1e-9);
+    }
+
+    @Test
+    void keepsOrderAcrossRebase() {
+        DecayingTopK topK = new DecayingTopK(HOUR, 0);
+        topK.record(1, 2e6, 0);
+        topK.record(2, 1e6, 0);
+        // Far enough in the future to force a rebase of the epoch; 1 and 2 are still worth ~15 and ~7 events
+        long later = 17 * HOUR;
+        topK.record(3, 1, later);
+
+        assertEquals(List.of(1L, 2L, 3L), topK.top(3));
+        topK.remove(1);
+        assertEquals(List.of(2L, 3L), topK.top(3));
+    }
+
+    @Test
+    void dropsDecayedScoresOnRebase() {
+        DecayingTopK topK = new DecayingTopK(HOUR, 0);
+        for (long id = 1; id <= 100; id++) {
+            topK.record(id, 1, 0);
+        }
+        topK.record(101, 1, 17 * HOUR);
+
+        assertEquals(1, topK.size());
+        assertEquals(List.of(101L), topK.top(10));
+    }
+}